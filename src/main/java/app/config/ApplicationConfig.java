@@ -7,6 +7,8 @@ import app.security.controllers.SecurityController;
 import app.security.enums.Role;
 import app.security.exceptions.ApiException;
 import app.security.routes.SecurityRoutes;
+import app.services.ReportSnapshotService;
+import app.services.StatsSnapshotService;
 import app.utils.Utils;
 import io.javalin.Javalin;
 import io.javalin.config.JavalinConfig;
@@ -43,6 +45,8 @@ public class ApplicationConfig {
         app.exception(Exception.class, ApplicationConfig::generalExceptionHandler);
         app.exception(ApiException.class, ApplicationConfig::apiExceptionHandler);
         app.start(port);
+        StatsSnapshotService.getInstance().start();
+        ReportSnapshotService.getInstance().start();
         return app;
     }
 
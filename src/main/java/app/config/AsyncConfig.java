@@ -0,0 +1,46 @@
+package app.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purpose: Executor for blocking DAO calls made from async (ctx.future) handlers.
+ * Sized like the connection pool, so extra work queues here instead of holding a request thread while waiting for a connection.
+ * Also owns the ForkJoin pool that CPU-bound report work is split across.
+ */
+public class AsyncConfig {
+
+    private static ExecutorService dbExecutor;
+    private static ForkJoinPool reportPool;
+
+    public static synchronized ExecutorService getDbExecutor() {
+        if (dbExecutor == null) {
+            int size = Integer.parseInt(HibernateConfig.poolSetting("DB_POOL_MAX_SIZE", "10"));
+            AtomicInteger count = new AtomicInteger();
+            dbExecutor = Executors.newFixedThreadPool(size, r -> {
+                Thread t = new Thread(r, "db-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return dbExecutor;
+    }
+
+    // Parallelism from the system property REPORT_PARALLELISM (default: all cores); kept apart from the common pool
+    public static synchronized ForkJoinPool getReportPool() {
+        if (reportPool == null) {
+            int parallelism = Integer.getInteger("REPORT_PARALLELISM", Runtime.getRuntime().availableProcessors());
+            AtomicInteger count = new AtomicInteger();
+            reportPool = new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("report-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, null, false);
+        }
+        return reportPool;
+    }
+}
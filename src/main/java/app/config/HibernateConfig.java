@@ -3,6 +3,7 @@ package app.config;
 import app.entities.Candidate;
 import app.entities.CandidateSkill;
 import app.entities.Skill;
+import app.entities.SkillStat;
 import app.security.entities.Role;
 import app.security.entities.User;
 import app.utils.Utils;
@@ -18,6 +19,7 @@ public class HibernateConfig {
 
     private static EntityManagerFactory emf;
     private static EntityManagerFactory emfTest;
+    private static EntityManagerFactory readEmf;
     private static Boolean isTest = false;
 
     public static void setTest(Boolean test) {
@@ -29,11 +31,26 @@ public class HibernateConfig {
     }
 
     public static EntityManagerFactory getEntityManagerFactory() {
+        if (getTest())
+            return getEntityManagerFactoryForTest(); // share one factory (and its statistics) across the test run
         if (emf == null)
             emf = createEMF(getTest());
         return emf;
     }
 
+    /**
+     * Read-only factory for GET traffic. Points at the read replica when READ_CONNECTION_STR is set
+     * (env var when deployed, config.properties in dev) and is the primary factory otherwise.
+     * Writes, and reads that must see a write that was just committed, stay on getEntityManagerFactory().
+     */
+    public static EntityManagerFactory getReadEntityManagerFactory() {
+        if (readEmf == null) {
+            String readUrl = getTest() ? null : configValue("READ_CONNECTION_STR");
+            readEmf = (readUrl == null) ? getEntityManagerFactory() : createReadEMF(readUrl);
+        }
+        return readEmf;
+    }
+
     public static EntityManagerFactory getEntityManagerFactoryForTest() {
         if (emfTest == null){
             setTest(true);
@@ -47,6 +64,7 @@ public class HibernateConfig {
         configuration.addAnnotatedClass(Candidate.class);
         configuration.addAnnotatedClass(Skill.class);
         configuration.addAnnotatedClass(CandidateSkill.class);
+        configuration.addAnnotatedClass(SkillStat.class);
         configuration.addAnnotatedClass(User.class);
         configuration.addAnnotatedClass(Role.class);
     }
@@ -64,15 +82,11 @@ public class HibernateConfig {
             } else {
                 props = setDevProperties(props);
             }
-            configuration.setProperties(props);
-            getAnnotationConfiguration(configuration);
-
-            ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
-                    .applySettings(configuration.getProperties())
-                    .build();
-            SessionFactory sf = configuration.buildSessionFactory(serviceRegistry);
-            EntityManagerFactory emf = sf.unwrap(EntityManagerFactory.class);
-            return emf;
+            setPoolProperties(props, forTest ? "exam-test" : "exam-primary");
+            if (!forTest) {
+                Migrator.migrate(props); // tests keep hbm2ddl create-drop against a throwaway container
+            }
+            return buildEMF(props);
         }
         catch (Throwable ex) {
             System.err.println("Initial SessionFactory creation failed." + ex);
@@ -80,17 +94,83 @@ public class HibernateConfig {
         }
     }
 
+    private static EntityManagerFactory createReadEMF(String readUrl) {
+        try {
+            Properties props = new Properties();
+            setBaseProperties(props);
+            setReadReplicaProperties(props, readUrl);
+            setPoolProperties(props, "exam-replica");
+            props.put("hibernate.hikari.readOnly", "true");
+            return buildEMF(props);
+        }
+        catch (Throwable ex) {
+            System.err.println("Read replica SessionFactory creation failed." + ex);
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static EntityManagerFactory buildEMF(Properties props) {
+        Configuration configuration = new Configuration();
+        configuration.setProperties(props);
+        getAnnotationConfiguration(configuration);
+
+        ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySettings(configuration.getProperties())
+                .build();
+        SessionFactory sf = configuration.buildSessionFactory(serviceRegistry);
+        EntityManagerFactory emf = sf.unwrap(EntityManagerFactory.class);
+        return emf;
+    }
+
     private static Properties setBaseProperties(Properties props) {
         props.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         props.put("hibernate.connection.driver_class", "org.postgresql.Driver");
-        props.put("hibernate.hbm2ddl.auto", "create");
+        props.put("hibernate.hbm2ddl.auto", "validate"); // schema is owned by the scripts in resources/db/migration
         props.put("hibernate.current_session_context_class", "thread");
         props.put("hibernate.show_sql", "true");
         props.put("hibernate.format_sql", "true");
         props.put("hibernate.use_sql_comments", "true");
+        // JDBC batching for bulk writes; ordering groups inserts per table so batches aren't broken up
+        props.put("hibernate.jdbc.batch_size", "50");
+        props.put("hibernate.order_inserts", "true");
+        props.put("hibernate.order_updates", "true");
+        // Second-level and query cache for the skill catalogue (in-process Ehcache through JCache)
+        props.put("hibernate.cache.use_second_level_cache", "true");
+        props.put("hibernate.cache.use_query_cache", "true");
+        props.put("hibernate.cache.region.factory_class", "jcache");
+        props.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+        props.put("hibernate.javax.cache.missing_cache_strategy", "create");
+        props.put("hibernate.generate_statistics", "true"); // cache hit/miss counters for /api/admin/cache and tests
         return props;
     }
 
+    // HikariCP pool. Sizing and timeouts come from env vars when deployed and from config.properties otherwise
+    private static Properties setPoolProperties(Properties props, String poolName) {
+        props.put("hibernate.connection.provider_class", "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
+        props.put("hibernate.hikari.poolName", poolName);
+        props.put("hibernate.hikari.metricsTrackerFactory", PoolMetrics.class.getName()); // feeds /api/admin/pool
+        props.put("hibernate.hikari.maximumPoolSize", poolSetting("DB_POOL_MAX_SIZE", "10"));
+        props.put("hibernate.hikari.minimumIdle", poolSetting("DB_POOL_MIN_IDLE", "2"));
+        props.put("hibernate.hikari.connectionTimeout", poolSetting("DB_POOL_CONNECTION_TIMEOUT_MS", "5000"));
+        props.put("hibernate.hikari.idleTimeout", poolSetting("DB_POOL_IDLE_TIMEOUT_MS", "600000"));
+        props.put("hibernate.hikari.maxLifetime", poolSetting("DB_POOL_MAX_LIFETIME_MS", "1800000"));
+        props.put("hibernate.hikari.leakDetectionThreshold", poolSetting("DB_POOL_LEAK_DETECTION_MS", "0"));
+        return props;
+    }
+
+    static String poolSetting(String key, String defaultValue) {
+        String value = configValue(key);
+        return value == null ? defaultValue : value;
+    }
+
+    // env var when deployed, config.properties otherwise; null when not set
+    private static String configValue(String key) {
+        String value = System.getenv("DEPLOYED") != null
+                ? System.getenv(key)
+                : Utils.getPropertyValue(key, "config.properties", null);
+        return (value == null || value.isBlank()) ? null : value.trim();
+    }
+
     private static Properties setDeployedProperties(Properties props) {
         String DBName = System.getenv("DB_NAME");
         props.setProperty("hibernate.connection.url", System.getenv("CONNECTION_STR") + DBName);
@@ -99,6 +179,26 @@ public class HibernateConfig {
         return props;
     }
 
+    private static Properties setReadReplicaProperties(Properties props, String readUrl) {
+        String DBName = System.getenv("DEPLOYED") != null
+                ? System.getenv("DB_NAME")
+                : Utils.getPropertyValue("DB_NAME", "config.properties");
+        props.put("hibernate.connection.url", readUrl + DBName);
+        props.put("hibernate.connection.username", readReplicaSetting("READ_DB_USERNAME", "DB_USERNAME", "postgres"));
+        props.put("hibernate.connection.password", readReplicaSetting("READ_DB_PASSWORD", "DB_PASSWORD", "postgres"));
+        props.put("hibernate.hbm2ddl.auto", "none"); // the replica gets its schema from the primary
+        // own cache region names, so the two factories don't share (or close) each other's caches
+        props.put("hibernate.cache.region_prefix", "replica");
+        return props;
+    }
+
+    // replica credentials default to the primary's when not set separately
+    private static String readReplicaSetting(String key, String primaryEnvKey, String devDefault) {
+        String value = configValue(key);
+        if (value != null) return value;
+        return System.getenv("DEPLOYED") != null ? System.getenv(primaryEnvKey) : devDefault;
+    }
+
     private static Properties setDevProperties(Properties props) {
         String DBName = Utils.getPropertyValue("DB_NAME", "config.properties");
         props.put("hibernate.connection.url", "jdbc:postgresql://localhost:5432/" + DBName);
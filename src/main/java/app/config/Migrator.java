@@ -0,0 +1,125 @@
+package app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+/**
+ * Purpose: Applies the versioned SQL scripts in resources/db/migration at boot and records them in schema_version.
+ * Hibernate then only validates the schema instead of recreating it on every start.
+ */
+public class Migrator {
+
+    private static final String LOCATION = "db/migration/";
+    private static Logger logger = LoggerFactory.getLogger(Migrator.class);
+
+    // Applied in this order; versions must run 1, 2, 3, ... without gaps. A new script goes at the end,
+    // and a script is never edited once it has been applied (the checksum check refuses to boot)
+    private static final List<String> MIGRATIONS = List.of(
+            "V1__baseline.sql",
+            "V2__indexes.sql",
+            "V3__skill_stats.sql",
+            "V4__skill_stats_description_text.sql"
+    );
+
+    public static void migrate(Properties props) {
+        checkSequence();
+        String url = props.getProperty("hibernate.connection.url");
+        String user = props.getProperty("hibernate.connection.username");
+        String password = props.getProperty("hibernate.connection.password");
+
+        try (Connection conn = DriverManager.getConnection(url, user, password)) {
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version integer PRIMARY KEY, " +
+                        "script varchar(255) NOT NULL, " +
+                        "checksum bigint NOT NULL, " +
+                        "applied_at timestamp NOT NULL DEFAULT now())");
+                conn.commit();
+                // serialize instances that boot at the same time; pending scripts run in this one transaction
+                st.execute("LOCK TABLE schema_version IN EXCLUSIVE MODE");
+            }
+
+            Map<Integer, Long> applied = appliedVersions(conn);
+            for (String script : MIGRATIONS) {
+                int version = versionOf(script);
+                String sql = readScript(script);
+                long checksum = checksum(sql);
+
+                Long appliedChecksum = applied.get(version);
+                if (appliedChecksum != null) {
+                    if (appliedChecksum != checksum)
+                        throw new IllegalStateException("Migration " + script + " was changed after it was applied");
+                    continue;
+                }
+
+                try (Statement st = conn.createStatement()) {
+                    st.execute(sql);
+                }
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "INSERT INTO schema_version (version, script, checksum) VALUES (?, ?, ?)")) {
+                    ps.setInt(1, version);
+                    ps.setString(2, script);
+                    ps.setLong(3, checksum);
+                    ps.executeUpdate();
+                }
+                logger.info("Applied migration {}", script);
+            }
+            conn.commit();
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Database migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<Integer, Long> appliedVersions(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    // A script added out of order or with a skipped version would otherwise just run in list order
+    private static void checkSequence() {
+        for (int i = 0; i < MIGRATIONS.size(); i++) {
+            if (versionOf(MIGRATIONS.get(i)) != i + 1)
+                throw new IllegalStateException("Migration " + MIGRATIONS.get(i) + " should be version " + (i + 1));
+        }
+    }
+
+    // V12__some_description.sql -> 12
+    private static int versionOf(String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    private static String readScript(String script) throws IOException {
+        try (InputStream is = Migrator.class.getClassLoader().getResourceAsStream(LOCATION + script)) {
+            if (is == null) throw new IOException("Missing migration script " + LOCATION + script);
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static long checksum(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,66 @@
+package app.config;
+
+import app.utils.LatencyRecorder;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purpose: Live HikariCP pool metrics (connection counts and acquire-time percentiles) for the admin endpoint.
+ * Hikari instantiates this class by name from the hibernate.hikari.metricsTrackerFactory property.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private static final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> pools = new TreeMap<>();
+        trackers.forEach((name, tracker) -> pools.put(name, tracker.snapshot()));
+        return pools;
+    }
+
+    private static class Tracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final LatencyRecorder acquire = new LatencyRecorder();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        Tracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.recordNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.incrementAndGet();
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("active", poolStats.getActiveConnections());
+            result.put("idle", poolStats.getIdleConnections());
+            result.put("pending", poolStats.getPendingThreads());
+            result.put("total", poolStats.getTotalConnections());
+            result.put("max", poolStats.getMaxConnections());
+            result.put("timeouts", timeouts.get());
+            result.put("acquire", acquire.snapshotMillis());
+            return result;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package app.config;
 
 import app.config.HibernateConfig;
+import app.daos.impl.SkillDAO;
 import app.entities.Candidate;
 import app.entities.CandidateSkill;
 import app.entities.Skill;
@@ -70,6 +71,8 @@ public class Populator {
             persistCandidateSkill(em, bob, findSkillByName(em, "PostgreSQL"));
 
             em.getTransaction().commit();
+            // written around the DAOs, so the replica's cached skill queries have to be dropped by hand
+            SkillDAO.getInstance(emf, HibernateConfig.getReadEntityManagerFactory()).evictReplicaQueryCaches();
             return "Populated sample candidates and skills.";
         } catch (Exception e) {
             if (em.getTransaction().isActive()) em.getTransaction().rollback();
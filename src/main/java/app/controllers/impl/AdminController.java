@@ -0,0 +1,89 @@
+package app.controllers.impl;
+
+import app.config.HibernateConfig;
+import app.config.PoolMetrics;
+import app.services.ExternalStatsService;
+import app.services.ReportSnapshotService;
+import app.services.StatsSnapshotService;
+import io.javalin.http.Context;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class AdminController {
+
+    // "primary", plus "replica" when GET traffic goes to a separate read factory
+    private final Map<String, Statistics> statisticsByFactory = new LinkedHashMap<>();
+
+    public AdminController() {
+        var emf = HibernateConfig.getEntityManagerFactory();
+        var readEmf = HibernateConfig.getReadEntityManagerFactory();
+        statisticsByFactory.put("primary", emf.unwrap(SessionFactory.class).getStatistics());
+        if (readEmf != emf) {
+            statisticsByFactory.put("replica", readEmf.unwrap(SessionFactory.class).getStatistics());
+        }
+    }
+
+    // Second-level and query cache counters, in total and per region, for sizing the caches
+    public void cacheStats(Context ctx) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        statisticsByFactory.forEach((name, statistics) -> result.put(name, cacheStats(statistics)));
+        ctx.json(result);
+    }
+
+    // Active/idle/pending connections and acquire-time percentiles per connection pool
+    public void poolStats(Context ctx) {
+        ctx.json(PoolMetrics.snapshot());
+    }
+
+    // External stats: the snapshot served to requests, plus the client's call, bulkhead, breaker, HTTP version and compression counters
+    public void externalStats(Context ctx) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("snapshot", StatsSnapshotService.getInstance().metrics());
+        result.put("client", ExternalStatsService.getInstance().metrics());
+        ctx.json(result);
+    }
+
+    // Rebuild the stats snapshot now instead of waiting for the next scheduled refresh
+    public void refreshStats(Context ctx) {
+        ctx.future(() -> StatsSnapshotService.getInstance().refreshNow()
+                .thenAccept(snapshot -> ctx.json(StatsSnapshotService.getInstance().metrics())));
+    }
+
+    // Report snapshot: version, age, build time and rebuild counters
+    public void reportStats(Context ctx) {
+        ctx.json(ReportSnapshotService.getInstance().metrics());
+    }
+
+    private Map<String, Object> cacheStats(Statistics statistics) {
+        Map<String, Object> regions = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = statistics.getCacheRegionStatistics(region);
+            if (r == null) continue;
+            regions.put(region, Map.of(
+                    "hits", r.getHitCount(),
+                    "misses", r.getMissCount(),
+                    "puts", r.getPutCount(),
+                    "elementsInMemory", r.getElementCountInMemory()
+            ));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("secondLevelCache", Map.of(
+                "hits", statistics.getSecondLevelCacheHitCount(),
+                "misses", statistics.getSecondLevelCacheMissCount(),
+                "puts", statistics.getSecondLevelCachePutCount()
+        ));
+        result.put("queryCache", Map.of(
+                "hits", statistics.getQueryCacheHitCount(),
+                "misses", statistics.getQueryCacheMissCount(),
+                "puts", statistics.getQueryCachePutCount()
+        ));
+        result.put("regions", regions);
+        return result;
+    }
+}
@@ -1,69 +1,107 @@
 package app.controllers.impl;
 
+import app.config.AsyncConfig;
 import app.config.HibernateConfig;
 import app.daos.impl.CandidateDAO;
+import app.dtos.BulkImportResultDTO;
+import app.dtos.BulkRowStatusDTO;
 import app.dtos.CandidateDTO;
+import app.dtos.PageDTO;
 import app.dtos.SkillRefDTO;
 import app.controllers.IController;
 import app.services.ExternalStatsService;
+import app.services.SkillStats;
+import app.services.StatsSnapshotService;
+import app.utils.Utils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.javalin.http.Context;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class CandidateController implements IController<CandidateDTO, Integer> {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final CandidateDAO dao;
-    private final ExternalStatsService statsService = new ExternalStatsService();
+    private final Executor dbExecutor = AsyncConfig.getDbExecutor();
+    private final ExternalStatsService statsService = ExternalStatsService.getInstance();
+    private final StatsSnapshotService snapshots = StatsSnapshotService.getInstance();
+    private final ObjectReader bulkReader = new Utils().getObjectMapper().readerFor(CandidateDTO.class);
 
     public CandidateController() {
         var emf = HibernateConfig.getEntityManagerFactory();
-        this.dao = CandidateDAO.getInstance(emf);
+        this.dao = CandidateDAO.getInstance(emf, HibernateConfig.getReadEntityManagerFactory());
     }
 
     @Override
     public void read(Context ctx) {
         int id = Integer.parseInt(ctx.pathParam("id"));
-        CandidateDTO dto = dao.read(id);
-        if (dto == null) {
-            ctx.status(404);
+        ctx.future(() -> CompletableFuture.supplyAsync(() -> dao.read(id), dbExecutor)
+                .thenApply(this::enrich)
+                .thenAccept(dto -> respond(ctx, dto)));
+    }
+
+    @Override
+    public void readAll(Context ctx) {
+        if (isPaged(ctx)) {
+            int after = afterParam(ctx);
+            int limit = limitParam(ctx);
+            ctx.future(() -> readWithStats(() -> dao.readPage(after, limit), PageDTO::getItems)
+                    .thenAccept(ctx::json));
             return;
         }
 
-        // If candidate has skills, fetch enrichment once and merge
-        Set<SkillRefDTO> skills = dto.getSkills();
-        if (skills != null && !skills.isEmpty()) {
-            Set<String> slugs = skills.stream()
-                    .map(SkillRefDTO::getSlug)
-                    .filter(Objects::nonNull)
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toSet());
-            var statsBySlug = statsService.fetchStatsBySlugs(slugs);
-            statsService.enrichSkillRefs(skills, statsBySlug);
-        } else {
-            dto.setSkills(java.util.Set.of()); // ensure empty set per acceptance criteria
+        ctx.future(() -> readWithStats(dao::readAll, Function.identity())
+                .thenAccept(ctx::json));
+    }
+
+    // Separate endpoint for filtering by category
+    public void readByCategory(Context ctx) {
+        String category = ctx.queryParam("category");
+        if (isPaged(ctx)) {
+            int after = afterParam(ctx);
+            int limit = limitParam(ctx);
+            ctx.future(() -> readWithStats(() -> dao.readPageByCategory(category, after, limit), PageDTO::getItems)
+                    .thenAccept(ctx::json));
+            return;
         }
 
-        ctx.json(dto);
+        ctx.future(() -> readWithStats(() -> dao.readAllByCategory(category), Function.identity())
+                .thenAccept(ctx::json));
     }
 
-    @Override
-    public void readAll(Context ctx) {
-        List<CandidateDTO> results = dao.readAll();
-
-        // Collect all slugs from all candidates (single external call)
-        Set<String> slugs = results.stream()
-                .flatMap(dto -> dto.getSkills() == null ? java.util.stream.Stream.empty() : dto.getSkills().stream())
-                .map(SkillRefDTO::getSlug)
-                .filter(Objects::nonNull)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
+    // Stats come from the current snapshot, so only the DAO query is waited on
+    private <T> CompletableFuture<T> readWithStats(Supplier<T> query, Function<T, List<CandidateDTO>> candidatesOf) {
+        return CompletableFuture.supplyAsync(query, dbExecutor)
+                .thenApply(result -> {
+                    applyStats(candidatesOf.apply(result));
+                    return result;
+                });
+    }
 
-        var statsBySlug = statsService.fetchStatsBySlugs(slugs);
+    private CandidateDTO enrich(CandidateDTO dto) {
+        if (dto != null) applyStats(List.of(dto));
+        return dto;
+    }
 
-        // Enrich each candidate's skills (or set empty set if none)
+    // Enrich each candidate's skills. Candidates without skills get an empty set per acceptance criteria
+    private void applyStats(List<CandidateDTO> results) {
+        Map<String, SkillStats> statsBySlug = snapshots.current().statsBySlug();
         results.forEach(dto -> {
             Set<SkillRefDTO> skills = dto.getSkills();
             if (skills != null && !skills.isEmpty()) {
@@ -72,34 +110,29 @@ public class CandidateController implements IController<CandidateDTO, Integer> {
                 dto.setSkills(java.util.Set.of());
             }
         });
-
-        ctx.json(results);
     }
 
-    // Separate endpoint for filtering by category
-    public void readByCategory(Context ctx) {
-        String category = ctx.queryParam("category");
-        List<CandidateDTO> results = dao.readAllByCategory(category);
+    private void respond(Context ctx, CandidateDTO dto) {
+        if (dto == null) {
+            ctx.status(404);
+            return;
+        }
+        ctx.json(dto);
+    }
 
-        // same enrichment logic as readAll
-        Set<String> slugs = results.stream()
-                .flatMap(dto -> dto.getSkills() == null ? java.util.stream.Stream.empty() : dto.getSkills().stream())
-                .map(SkillRefDTO::getSlug)
-                .filter(Objects::nonNull)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
+    // Paging is opt-in so existing clients keep getting the plain array
+    private boolean isPaged(Context ctx) {
+        return ctx.queryParam("after") != null || ctx.queryParam("limit") != null;
+    }
 
-        var statsBySlug = statsService.fetchStatsBySlugs(slugs);
-        results.forEach(dto -> {
-            Set<SkillRefDTO> skills = dto.getSkills();
-            if (skills != null && !skills.isEmpty()) {
-                statsService.enrichSkillRefs(skills, statsBySlug);
-            } else {
-                dto.setSkills(java.util.Set.of());
-            }
-        });
+    private int afterParam(Context ctx) {
+        return ctx.queryParamAsClass("after", Integer.class).getOrDefault(0);
+    }
 
-        ctx.json(results);
+    private int limitParam(Context ctx) {
+        return ctx.queryParamAsClass("limit", Integer.class)
+                .check(limit -> limit > 0 && limit <= MAX_PAGE_SIZE, "limit must be between 1 and " + MAX_PAGE_SIZE)
+                .getOrDefault(DEFAULT_PAGE_SIZE);
     }
 
     @Override
@@ -109,6 +142,36 @@ public class CandidateController implements IController<CandidateDTO, Integer> {
         ctx.status(201).json(created);
     }
 
+    /**
+     * Bulk import from a JSON array or an NDJSON stream (one candidate object per line).
+     * Rows are read incrementally and written in chunked transactions, so the body is never held in memory
+     * as a whole. An unreadable row stops the import; everything before it is still written.
+     */
+    public void createBulk(Context ctx) throws IOException {
+        List<BulkRowStatusDTO> statuses = new ArrayList<>();
+        List<CandidateDTO> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        BulkRowStatusDTO parseError = null;
+        int next = 0; // index of the first row in the current chunk
+
+        try (MappingIterator<CandidateDTO> rows = bulkReader.readValues(ctx.bodyInputStream())) {
+            while (rows.hasNextValue()) {
+                chunk.add(rows.nextValue());
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    statuses.addAll(dao.createChunk(chunk, next));
+                    next += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            parseError = new BulkRowStatusDTO(next + chunk.size(), null, BulkRowStatusDTO.INVALID,
+                    "unreadable row: " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) statuses.addAll(dao.createChunk(chunk, next));
+        if (parseError != null) statuses.add(parseError);
+
+        ctx.json(BulkImportResultDTO.of(statuses));
+    }
+
     @Override
     public void update(Context ctx) {
         int id = Integer.parseInt(ctx.pathParam("id"));
@@ -121,6 +184,18 @@ public class CandidateController implements IController<CandidateDTO, Integer> {
         ctx.json(updated);
     }
 
+    // Partial update: fields left out of the body keep their current value, including the skill links
+    public void patch(Context ctx) {
+        int id = Integer.parseInt(ctx.pathParam("id"));
+        CandidateDTO dto = ctx.bodyAsClass(CandidateDTO.class);
+        CandidateDTO updated = dao.patch(id, dto);
+        if (updated == null) {
+            ctx.status(404);
+            return;
+        }
+        ctx.json(updated);
+    }
+
     @Override
     public void delete(Context ctx) {
         int id = Integer.parseInt(ctx.pathParam("id"));
@@ -142,31 +217,27 @@ public class CandidateController implements IController<CandidateDTO, Integer> {
     public void linkSkill(Context ctx) {
         int candidateId = Integer.parseInt(ctx.pathParam("candidateId"));
         int skillId = Integer.parseInt(ctx.pathParam("skillId"));
-        CandidateDTO result = dao.linkSkill(candidateId, skillId);
-        if (result == null) {
-            ctx.status(404);
-            return;
-        }
 
         // Enrich the returned candidate's skills (same approach as other endpoints)
-        Set<SkillRefDTO> skills = result.getSkills();
-        if (skills != null && !skills.isEmpty()) {
-            Set<String> slugs = skills.stream()
-                    .map(SkillRefDTO::getSlug)
-                    .filter(Objects::nonNull)
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toSet());
-            var statsBySlug = statsService.fetchStatsBySlugs(slugs);
-            statsService.enrichSkillRefs(skills, statsBySlug);
-        } else {
-            result.setSkills(java.util.Set.of());
-        }
+        ctx.future(() -> CompletableFuture.supplyAsync(() -> dao.linkSkill(candidateId, skillId), dbExecutor)
+                .thenApply(this::enrich)
+                .thenAccept(dto -> respond(ctx, dto)));
+    }
 
-        ctx.json(result);
+    // Link several existing skills at once; body is a JSON array of skill ids, e.g. [1, 2, 3]
+    public void linkSkills(Context ctx) {
+        int candidateId = Integer.parseInt(ctx.pathParam("id"));
+        List<Integer> skillIds = Arrays.stream(ctx.bodyAsClass(Integer[].class))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        ctx.future(() -> CompletableFuture.supplyAsync(() -> dao.linkSkills(candidateId, skillIds), dbExecutor)
+                .thenApply(this::enrich)
+                .thenAccept(dto -> respond(ctx, dto)));
     }
 
     public void populate(Context ctx) {
-        String result = app.config.Populator.populateSampleData();
+        String result = dao.Populate();
         ctx.status(200);
         ctx.json(java.util.Map.of("msg", result));
     }
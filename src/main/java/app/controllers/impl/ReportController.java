@@ -1,81 +1,130 @@
 // File: src/main/java/app/controllers/impl/ReportController.java
 package app.controllers.impl;
 
-import app.config.HibernateConfig;
-import app.daos.impl.CandidateDAO;
-import app.dtos.CandidateDTO;
-import app.dtos.SkillRefDTO;
-import app.services.ExternalStatsService;
-import com.fasterxml.jackson.databind.JsonNode;
+import app.services.CandidateReport;
+import app.services.ReportSnapshot;
+import app.services.ReportSnapshotService;
 import io.javalin.http.Context;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
 
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class ReportController {
 
-    private final CandidateDAO dao;
-    private final ExternalStatsService statsService = new ExternalStatsService();
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = ReportSnapshotService.MAX_N;
 
-    public ReportController() {
-        var emf = HibernateConfig.getEntityManagerFactory();
-        this.dao = CandidateDAO.getInstance(emf);
-    }
+    private final ReportSnapshotService reportSnapshots = ReportSnapshotService.getInstance();
 
     public void topByPopularity(Context ctx) {
-        List<CandidateDTO> candidates = dao.readAll();
-        if (candidates == null || candidates.isEmpty()) {
-            ctx.status(200).json(Map.of()); // no candidates
-            return;
-        }
+        // Aggregated in SQL against skill_stats when the snapshot is built
+        serve(ctx, snapshot -> snapshot.topByPopularity() == null
+                ? Map.of() // no candidates with popularity data
+                : snapshot.topByPopularity());
+    }
+
+    public void top(Context ctx) {
+        int n = nParam(ctx, DEFAULT_TOP);
+        serve(ctx, snapshot -> toJson(snapshot.top(), n));
+    }
+
+    public void categoryLeaders(Context ctx) {
+        int n = nParam(ctx, 1);
+        serve(ctx, snapshot -> leaders(snapshot, n));
+    }
+
+    public void salaries(Context ctx) {
+        serve(ctx, ReportSnapshot::salaries);
+    }
+
+    // All three reports from the same snapshot
+    public void summary(Context ctx) {
+        int n = nParam(ctx, DEFAULT_TOP);
+        serve(ctx, snapshot -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("candidatesWithSkills", snapshot.candidatesWithSkills());
+            result.put("top", toJson(snapshot.top(), n));
+            result.put("categoryLeaders", leaders(snapshot, n));
+            result.put("salaries", snapshot.salaries());
+            return result;
+        });
+    }
 
-        // Collect all slugs (single external call)
-        Set<String> slugs = candidates.stream()
-                .flatMap(dto -> dto.getSkills() == null ? Stream.empty() : dto.getSkills().stream())
-                .map(SkillRefDTO::getSlug)
-                .filter(Objects::nonNull)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-
-        var statsBySlug = statsService.fetchStatsBySlugs(slugs);
-
-        // average popularity per candidate
-        Optional<AbstractMap.SimpleEntry<Integer, Double>> best = candidates.stream()
-                .map(dto -> {
-                    int id = dto.getId();
-                    int sum = 0;
-                    int count = 0;
-                    if (dto.getSkills() != null) {
-                        for (SkillRefDTO s : dto.getSkills()) {
-                            if (s == null || s.getSlug() == null) continue;
-                            JsonNode stat = statsBySlug.get(s.getSlug().toLowerCase());
-                            if (stat != null) {
-                                JsonNode pop = stat.get("popularityScore");
-                                if (pop != null && !pop.isNull()) {
-                                    sum += pop.asInt();
-                                    count++;
-                                }
-                            }
-                        }
-                    }
-                    double avg = (count == 0) ? Double.NaN : (double) sum / count;
-                    return new AbstractMap.SimpleEntry<>(id, avg);
-                })
-                .filter(entry -> !Double.isNaN(entry.getValue())) // only candidates with at least one popularity score
-                .max(Comparator.comparingDouble(Map.Entry::getValue));
-
-        if (best.isEmpty()) {
-            ctx.status(200).json(Map.of()); // no candidates with popularity data
-            return;
+    /**
+     * Serves a view of the current report snapshot with ETag/Last-Modified validators, answering 304 when the client's
+     * copy is still current. X-Snapshot-Age-Ms and X-Snapshot-Build-Ms show how old the snapshot is and how long it took.
+     */
+    private void serve(Context ctx, Function<ReportSnapshot, Object> view) {
+        ctx.future(() -> reportSnapshots.current().thenAccept(snapshot -> {
+            ctx.header(Header.ETAG, snapshot.etag());
+            ctx.header(Header.LAST_MODIFIED, DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                    snapshot.lastModified().atZone(ZoneOffset.UTC)));
+            ctx.header(Header.CACHE_CONTROL, "no-cache"); // may be stored, but revalidate every time
+            ctx.header("X-Snapshot-Age-Ms", String.valueOf(snapshot.age().toMillis()));
+            ctx.header("X-Snapshot-Build-Ms", String.valueOf(snapshot.buildDuration().toMillis()));
+            if (notModified(ctx, snapshot)) {
+                ctx.status(HttpStatus.NOT_MODIFIED);
+                return;
+            }
+            ctx.json(view.apply(snapshot));
+        }));
+    }
+
+    // If-None-Match wins over If-Modified-Since when both are sent
+    private boolean notModified(Context ctx, ReportSnapshot snapshot) {
+        String ifNoneMatch = ctx.header(Header.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.startsWith("W/")) t = t.substring(2);
+                if (t.equals("*") || t.equals(snapshot.etag())) return true;
+            }
+            return false;
+        }
+        String ifModifiedSince = ctx.header(Header.IF_MODIFIED_SINCE);
+        if (ifModifiedSince == null) return false;
+        try {
+            ZonedDateTime since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME);
+            // HTTP dates have whole seconds
+            return !snapshot.lastModified().truncatedTo(ChronoUnit.SECONDS).isAfter(since.toInstant());
+        } catch (DateTimeParseException e) {
+            return false; // unparseable dates are ignored
         }
+    }
+
+    private int nParam(Context ctx, int defaultN) {
+        return ctx.queryParamAsClass("n", Integer.class)
+                .check(n -> n > 0 && n <= MAX_TOP, "n must be between 1 and " + MAX_TOP)
+                .getOrDefault(defaultN);
+    }
+
+    private Map<String, Object> leaders(ReportSnapshot snapshot, int n) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        snapshot.leaders().forEach((category, best) -> result.put(category.name(), toJson(best, n)));
+        return result;
+    }
+
+    private List<Map<String, Object>> toJson(List<CandidateReport.Scored> scored, int n) {
+        return scored.stream().limit(n).map(s -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", s.id());
+            row.put("name", s.name());
+            row.put("averagePopularityScore", round2(s.averagePopularityScore()));
+            row.put("scoredSkills", s.scoredSkills());
+            return row;
+        }).toList();
+    }
 
-        Map.Entry<Integer, Double> winner = best.get();
-        // Round to 2 decimals
-        double rounded = Math.round(winner.getValue() * 100.0) / 100.0;
-        ctx.json(Map.of(
-                "id", winner.getKey(),
-                "averagePopularityScore", rounded
-        ));
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
     }
 }
@@ -0,0 +1,12 @@
+package app.daos;
+
+import java.util.Collection;
+
+/**
+ * Purpose: Called by a DAO after a committed write, with the ids of the rows it changed.
+ * null means anything may have changed (e.g. after repopulating) and the listener should reload everything.
+ */
+public interface IChangeListener {
+
+    void changed(Collection<Integer> ids);
+}
@@ -1,8 +1,11 @@
 package app.daos.impl;
 
 import app.config.Populator;
+import app.daos.IChangeListener;
 import app.daos.IDAO;
+import app.dtos.BulkRowStatusDTO;
 import app.dtos.CandidateDTO;
+import app.dtos.PageDTO;
 import app.dtos.SkillRefDTO;
 import app.entities.Candidate;
 import app.entities.CandidateSkill;
@@ -12,44 +15,93 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.TypedQuery;
 import lombok.NoArgsConstructor;
-
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
 
+    // Read-only projection: one row per candidate/skill pair, mapped straight to DTOs without managed entities
+    private static final String SELECT_ROWS =
+            "SELECT c.id, c.name, c.phone, c.education, s.id, s.name, s.slug" +
+            " FROM Candidate c LEFT JOIN c.candidateSkills cs LEFT JOIN cs.skill s";
+
+    // Category filter against the cached skill ids of that category (see SkillDAO.readIdsByCategory)
+    private static final String HAS_SKILL_IN =
+            "SELECT 1 FROM CandidateSkill x WHERE x.candidate = c AND x.skill.id IN :skillIds";
+
+    // Joining candidates and skills makes unknown ids insert nothing instead of failing on a foreign key.
+    // %s is one (:idN, :skillN) row per skill; the ids come from Hibernate's pooled generator (see linkSkills)
+    private static final String LINK_SKILLS_SQL =
+            "INSERT INTO candidate_skills (id, candidate_id, skill_id)" +
+            " SELECT v.id, c.id, s.id FROM (VALUES %s) AS v(id, skill_id)" +
+            " JOIN candidates c ON c.id = :cid JOIN skills s ON s.id = v.skill_id" +
+            " ON CONFLICT (candidate_id, skill_id) DO NOTHING";
+
+    private static final int SKILL_LINK_FETCH_SIZE = 1_000;
+
     private static CandidateDAO instance;
     private static EntityManagerFactory emf;
+    private static EntityManagerFactory readEmf; // read replica for GET traffic; same as emf when none is configured
+    private final List<IChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     public static CandidateDAO getInstance(EntityManagerFactory _emf) {
+        return getInstance(_emf, _emf);
+    }
+
+    public static CandidateDAO getInstance(EntityManagerFactory _emf, EntityManagerFactory _readEmf) {
         if (instance == null) {
             emf = _emf;
+            readEmf = _readEmf;
             instance = new CandidateDAO();
         }
         return instance;
     }
 
+    // Notified with the candidate ids after every committed write, e.g. to rebuild reports
+    public void addChangeListener(IChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private void fireChanged(Collection<Integer> ids) {
+        listeners.forEach(listener -> listener.changed(ids));
+    }
+
     @Override
     public CandidateDTO read(Integer id) {
-        try (EntityManager em = emf.createEntityManager()) {
-            Candidate c = em.find(Candidate.class, id);
-            if (c == null) return null;
-            // initialize collection
-            if (c.getCandidateSkills() != null) c.getCandidateSkills().size();
-            return toDTO(c);
+        return readFrom(readEmf, id);
+    }
+
+    // Reads that follow a write go to the primary so they can't miss the row on a lagging replica
+    private CandidateDTO readFrom(EntityManagerFactory factory, Integer id) {
+        try (EntityManager em = factory.createEntityManager()) {
+            TypedQuery<Object[]> q = selectRows(em, " WHERE c.id = :id");
+            q.setParameter("id", id);
+            return toDTOs(q.getResultList()).stream().findFirst().orElse(null);
         }
     }
 
     @Override
     public List<CandidateDTO> readAll() {
-        try (EntityManager em = emf.createEntityManager()) {
-            TypedQuery<Candidate> q = em.createQuery("SELECT c FROM Candidate c", Candidate.class);
-            List<Candidate> list = q.getResultList();
-            list.forEach(c -> { if (c.getCandidateSkills() != null) c.getCandidateSkills().size(); });
-            return list.stream().map(this::toDTO).collect(Collectors.toList());
+        try (EntityManager em = readEmf.createEntityManager()) {
+            // candidates, links and skills in one round trip instead of 1 + N + M lazy loads
+            return toDTOs(selectRows(em, " ORDER BY c.id").getResultList());
         }
     }
 
@@ -71,17 +123,76 @@ public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
             return List.of();
         }
 
-        try (EntityManager em = emf.createEntityManager()) {
-            TypedQuery<Candidate> q = em.createQuery(
-                    "SELECT DISTINCT c FROM Candidate c JOIN c.candidateSkills cs JOIN cs.skill s WHERE s.category = :category",
-                    Candidate.class);
-            q.setParameter("category", cat);
-            List<Candidate> list = q.getResultList();
-            list.forEach(c -> { if (c.getCandidateSkills() != null) c.getCandidateSkills().size(); });
-            return list.stream().map(this::toDTO).collect(Collectors.toList());
+        List<Integer> skillIds = SkillDAO.getInstance(emf, readEmf).readIdsByCategory(cat);
+        if (skillIds.isEmpty()) return List.of();
+
+        try (EntityManager em = readEmf.createEntityManager()) {
+            // filter in a subquery so the join still returns every skill of a matching candidate
+            TypedQuery<Object[]> q = selectRows(em, " WHERE EXISTS (" + HAS_SKILL_IN + ") ORDER BY c.id");
+            q.setParameter("skillIds", skillIds);
+            return toDTOs(q.getResultList());
+        }
+    }
+
+    /**
+     * Keyset page of candidates with id greater than {@code after}, ordered by id.
+     * Seeks on the primary key so every page costs the same regardless of how deep it is.
+     */
+    public PageDTO<CandidateDTO> readPage(int after, int limit) {
+        try (EntityManager em = readEmf.createEntityManager()) {
+            TypedQuery<Integer> q = em.createQuery(
+                    "SELECT c.id FROM Candidate c WHERE c.id > :after ORDER BY c.id", Integer.class);
+            q.setParameter("after", after);
+            q.setMaxResults(limit + 1); // one extra row tells us whether there is a next page
+            return loadPage(em, q.getResultList(), limit);
         }
     }
 
+    /**
+     * Keyset page of candidates that have at least one skill in the given category.
+     * Same null/blank/invalid category rules as {@link #readAllByCategory(String)}.
+     */
+    public PageDTO<CandidateDTO> readPageByCategory(String category, int after, int limit) {
+        if (category == null || category.isBlank()) {
+            return readPage(after, limit);
+        }
+
+        SkillCategory cat;
+        try {
+            cat = SkillCategory.valueOf(category.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new PageDTO<>(List.of(), null, limit);
+        }
+
+        List<Integer> skillIds = SkillDAO.getInstance(emf, readEmf).readIdsByCategory(cat);
+        if (skillIds.isEmpty()) return new PageDTO<>(List.of(), null, limit);
+
+        try (EntityManager em = readEmf.createEntityManager()) {
+            TypedQuery<Integer> q = em.createQuery(
+                    "SELECT c.id FROM Candidate c WHERE c.id > :after AND EXISTS (" + HAS_SKILL_IN + ") ORDER BY c.id",
+                    Integer.class);
+            q.setParameter("after", after);
+            q.setParameter("skillIds", skillIds);
+            q.setMaxResults(limit + 1);
+            return loadPage(em, q.getResultList(), limit);
+        }
+    }
+
+    // Limit is applied to the id query; the row projection can't be limited in SQL since it has one row per skill
+    private PageDTO<CandidateDTO> loadPage(EntityManager em, List<Integer> ids, int limit) {
+        boolean hasMore = ids.size() > limit;
+        List<Integer> pageIds = hasMore ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new PageDTO<>(List.of(), null, limit);
+        }
+
+        TypedQuery<Object[]> q = selectRows(em, " WHERE c.id IN :ids ORDER BY c.id");
+        q.setParameter("ids", pageIds);
+        List<CandidateDTO> items = toDTOs(q.getResultList());
+        Integer nextCursor = hasMore ? pageIds.get(pageIds.size() - 1) : null;
+        return new PageDTO<>(items, nextCursor, limit);
+    }
+
     @Override
     public CandidateDTO create(CandidateDTO dto) {
         try (EntityManager em = emf.createEntityManager()) {
@@ -111,18 +222,113 @@ public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
 
             em.persist(c);
             em.getTransaction().commit();
+            fireChanged(List.of(c.getId()));
+
+            // reload through the projection to return fully initialized DTO
+            return readFrom(emf, c.getId());
+        }
+    }
+
+    /**
+     * Persists one chunk of a bulk import in a single transaction. Ids come from the pooled sequence,
+     * so the inserts go out as JDBC batches. If the transaction fails, every row in the chunk is
+     * reported as failed and earlier chunks stay committed.
+     *
+     * @param firstIndex position of the chunk's first row in the whole import, used in the row statuses
+     */
+    public List<BulkRowStatusDTO> createChunk(List<CandidateDTO> chunk, int firstIndex) {
+        List<BulkRowStatusDTO> statuses = new ArrayList<>(chunk.size());
+        try (EntityManager em = emf.createEntityManager()) {
+            try {
+                em.getTransaction().begin();
 
-            // reload to return fully initialized DTO
-            try (EntityManager em2 = emf.createEntityManager()) {
-                Candidate persisted = em2.find(Candidate.class, c.getId());
-                if (persisted != null && persisted.getCandidateSkills() != null) persisted.getCandidateSkills().size();
-                return persisted == null ? null : toDTO(persisted);
+                // resolve every referenced skill id for the chunk in one query
+                Set<Integer> refIds = chunk.stream()
+                        .filter(java.util.Objects::nonNull)
+                        .filter(dto -> dto.getSkills() != null)
+                        .flatMap(dto -> dto.getSkills().stream())
+                        .filter(ref -> ref != null && ref.getId() > 0)
+                        .map(SkillRefDTO::getId)
+                        .collect(Collectors.toSet());
+                Set<Integer> knownSkillIds = refIds.isEmpty() ? Set.of() : new HashSet<>(
+                        em.createQuery("SELECT s.id FROM Skill s WHERE s.id IN :ids", Integer.class)
+                                .setParameter("ids", refIds)
+                                .getResultList());
+
+                List<Candidate> persisted = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    CandidateDTO dto = chunk.get(i);
+                    if (!isImportable(dto)) {
+                        statuses.add(invalidRow(firstIndex + i));
+                        persisted.add(null);
+                        continue;
+                    }
+
+                    Candidate c = new Candidate();
+                    c.setName(dto.getName());
+                    c.setPhone(dto.getPhone());
+                    c.setEducation(dto.getEducation());
+                    c.setCandidateSkills(new HashSet<>());
+                    if (dto.getSkills() != null) {
+                        for (SkillRefDTO ref : dto.getSkills()) {
+                            if (ref == null || !knownSkillIds.contains(ref.getId())) continue;
+                            CandidateSkill cs = new CandidateSkill();
+                            cs.setCandidate(c);
+                            cs.setSkill(em.getReference(Skill.class, ref.getId())); // proxy, no SELECT
+                            c.getCandidateSkills().add(cs);
+                        }
+                    }
+                    em.persist(c);
+                    persisted.add(c);
+                    statuses.add(null);
+                }
+
+                em.getTransaction().commit();
+                SkillDAO.getInstance(emf, readEmf).evictReplicaQueryCaches();
+
+                List<Integer> created = new ArrayList<>();
+                for (int i = 0; i < persisted.size(); i++) {
+                    if (persisted.get(i) != null) {
+                        created.add(persisted.get(i).getId());
+                        statuses.set(i, new BulkRowStatusDTO(firstIndex + i, persisted.get(i).getId(), BulkRowStatusDTO.CREATED, null));
+                    }
+                }
+                fireChanged(created);
+            } catch (RuntimeException e) {
+                if (em.getTransaction().isActive()) em.getTransaction().rollback();
+                statuses.clear();
+                for (int i = 0; i < chunk.size(); i++) {
+                    statuses.add(isImportable(chunk.get(i))
+                            ? new BulkRowStatusDTO(firstIndex + i, null, BulkRowStatusDTO.FAILED, e.getMessage())
+                            : invalidRow(firstIndex + i));
+                }
             }
         }
+        return statuses;
+    }
+
+    private boolean isImportable(CandidateDTO dto) {
+        return dto != null && dto.getName() != null && !dto.getName().isBlank();
+    }
+
+    private BulkRowStatusDTO invalidRow(int index) {
+        return new BulkRowStatusDTO(index, null, BulkRowStatusDTO.INVALID, "name is required");
     }
 
     @Override
     public CandidateDTO update(Integer id, CandidateDTO dto) {
+        return applyChanges(id, dto, false);
+    }
+
+    /**
+     * Partial update: only fields present (non-null) in the DTO are applied.
+     * A missing skills field leaves the candidate's skill links untouched.
+     */
+    public CandidateDTO patch(Integer id, CandidateDTO dto) {
+        return applyChanges(id, dto, true);
+    }
+
+    private CandidateDTO applyChanges(Integer id, CandidateDTO dto, boolean partial) {
         try (EntityManager em = emf.createEntityManager()) {
             em.getTransaction().begin();
             Candidate existing = em.find(Candidate.class, id);
@@ -131,43 +337,49 @@ public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
                 return null;
             }
 
-            existing.setName(dto.getName());
-            existing.setPhone(dto.getPhone());
-            existing.setEducation(dto.getEducation());
-
-            // ensure collection exists
-            if (existing.getCandidateSkills() == null) existing.setCandidateSkills(new HashSet<>());
-
-            // remove existing links (orphanRemoval + cascade will handle DB rows when CandidateSkill detached)
-            existing.getCandidateSkills().forEach(cs -> {
-                if (cs.getSkill() != null && cs.getSkill().getCandidateSkills() != null) {
-                    cs.getSkill().getCandidateSkills().remove(cs);
-                }
-                cs.setCandidate(null);
-                cs.setSkill(null);
-            });
-            existing.getCandidateSkills().clear();
-
-            // attach new skills from DTO
-            if (dto.getSkills() != null) {
-                for (SkillRefDTO ref : dto.getSkills()) {
-                    if (ref == null || ref.getId() <= 0) continue;
-                    Skill managedSkill = em.find(Skill.class, ref.getId());
-                    if (managedSkill == null) continue;
-                    CandidateSkill cs = new CandidateSkill();
-                    cs.setCandidate(existing);
-                    cs.setSkill(managedSkill);
-                    existing.getCandidateSkills().add(cs);
-                    if (managedSkill.getCandidateSkills() == null) managedSkill.setCandidateSkills(new HashSet<>());
-                    managedSkill.getCandidateSkills().add(cs);
-                }
-            }
+            if (!partial || dto.getName() != null) existing.setName(dto.getName());
+            if (!partial || dto.getPhone() != null) existing.setPhone(dto.getPhone());
+            if (!partial || dto.getEducation() != null) existing.setEducation(dto.getEducation());
+            if (!partial || dto.getSkills() != null) reconcileSkills(em, existing, dto.getSkills());
 
-            Candidate merged = em.merge(existing);
             em.getTransaction().commit();
+            fireChanged(List.of(id));
+            return toDTO(existing);
+        }
+    }
 
-            if (merged.getCandidateSkills() != null) merged.getCandidateSkills().size();
-            return toDTO(merged);
+    // Touch only the links that differ: unwanted ones are removed (orphanRemoval deletes just those rows)
+    // and missing ones are added. Unchanged links cause no DELETE/INSERT at all.
+    private void reconcileSkills(EntityManager em, Candidate candidate, Set<SkillRefDTO> refs) {
+        Set<Integer> wanted = refs == null ? Set.of() : refs.stream()
+                .filter(ref -> ref != null && ref.getId() > 0)
+                .map(SkillRefDTO::getId)
+                .collect(Collectors.toSet());
+
+        // ensure collection exists
+        if (candidate.getCandidateSkills() == null) candidate.setCandidateSkills(new HashSet<>());
+
+        Set<Integer> kept = new HashSet<>();
+        candidate.getCandidateSkills().removeIf(cs -> {
+            if (wanted.contains(cs.getSkill().getId())) {
+                kept.add(cs.getSkill().getId());
+                return false;
+            }
+            // keep the other side consistent only if it is already loaded; initializing it would read every link of the skill
+            if (Hibernate.isInitialized(cs.getSkill().getCandidateSkills())) {
+                cs.getSkill().getCandidateSkills().remove(cs);
+            }
+            return true;
+        });
+
+        for (Integer skillId : wanted) {
+            if (kept.contains(skillId)) continue;
+            Skill managedSkill = em.find(Skill.class, skillId); // second-level cache hit for known skills
+            if (managedSkill == null) continue;
+            CandidateSkill cs = new CandidateSkill();
+            cs.setCandidate(candidate);
+            cs.setSkill(managedSkill);
+            candidate.getCandidateSkills().add(cs);
         }
     }
 
@@ -178,6 +390,7 @@ public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
             Candidate c = em.find(Candidate.class, id);
             if (c != null) em.remove(c);
             em.getTransaction().commit();
+            if (c != null) fireChanged(List.of(id)); // nothing to rebuild for an id that didn't exist
         }
     }
 
@@ -189,53 +402,101 @@ public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
     }
 
     public CandidateDTO linkSkill(Integer candidateId, Integer skillId) {
-        try (EntityManager em = emf.createEntityManager()) {
-            try {
-                em.getTransaction().begin();
-                Candidate candidate = em.find(Candidate.class, candidateId);
-                Skill skill = em.find(Skill.class, skillId);
-                if (candidate == null || skill == null) {
-                    em.getTransaction().rollback();
-                    return null;
+        // unknown skill -> 404 like before; the lookup is served by the skill cache
+        if (!SkillDAO.getInstance(emf, readEmf).validatePrimaryKey(skillId)) return null;
+        return linkSkills(candidateId, List.of(skillId));
+    }
+
+    /**
+     * Links every given skill to the candidate in one set-based statement. Existing links and unknown skill ids
+     * are skipped by the INSERT itself, so the call is idempotent and needs no per-skill lookups.
+     * Link ids are taken from CandidateSkill's own generator, so they come out of the same pooled blocks as links
+     * persisted through Hibernate; ids of skipped rows are simply not used.
+     * Returns the refreshed candidate, or null if the candidate does not exist.
+     */
+    public CandidateDTO linkSkills(Integer candidateId, Collection<Integer> skillIds) {
+        List<Integer> distinct = skillIds == null ? List.of()
+                : skillIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (!distinct.isEmpty()) {
+            try (EntityManager em = emf.createEntityManager()) {
+                try {
+                    em.getTransaction().begin();
+                    String rows = IntStream.range(0, distinct.size())
+                            .mapToObj(i -> "(:id" + i + ", :skill" + i + ")")
+                            .collect(Collectors.joining(", "));
+                    NativeQuery<?> insert = em.createNativeQuery(LINK_SKILLS_SQL.formatted(rows)).unwrap(NativeQuery.class);
+                    insert.addSynchronizedEntityClass(CandidateSkill.class); // only invalidate what this touches
+                    insert.setParameter("cid", candidateId);
+                    SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+                    IdentifierGenerator ids = session.getFactory().getMappingMetamodel()
+                            .getEntityDescriptor(CandidateSkill.class).getIdentifierGenerator();
+                    for (int i = 0; i < distinct.size(); i++) {
+                        insert.setParameter("id" + i, ids.generate(session, null));
+                        insert.setParameter("skill" + i, distinct.get(i));
+                    }
+                    insert.executeUpdate();
+                    em.getTransaction().commit();
+                    SkillDAO.getInstance(emf, readEmf).evictReplicaQueryCaches();
+                    fireChanged(List.of(candidateId));
+                } catch (Exception e) {
+                    if (em.getTransaction().isActive()) em.getTransaction().rollback();
+                    throw e;
                 }
+            }
+        }
+        return readFrom(emf, candidateId);
+    }
 
-                // Check database for existing link to avoid duplicate key errors
-                TypedQuery<Long> q = em.createQuery(
-                        "SELECT COUNT(cs) FROM CandidateSkill cs WHERE cs.candidate.id = :cid AND cs.skill.id = :sid",
-                        Long.class);
-                q.setParameter("cid", candidateId);
-                q.setParameter("sid", skillId);
-                Long existing = q.getSingleResult();
+    @FunctionalInterface
+    public interface SkillLinkConsumer {
+        void accept(int candidateId, String candidateName, SkillCategory category, String slug);
+    }
 
-                if (existing == 0L) {
-                    CandidateSkill cs = new CandidateSkill();
-                    cs.setCandidate(candidate);
-                    cs.setSkill(skill);
-                    em.persist(cs);
-
-                    // maintain in-memory associations
-                    if (candidate.getCandidateSkills() == null) candidate.setCandidateSkills(new HashSet<>());
-                    candidate.getCandidateSkills().add(cs);
-                    if (skill.getCandidateSkills() == null) skill.setCandidateSkills(new HashSet<>());
-                    skill.getCandidateSkills().add(cs);
+    /**
+     * One pass over every candidate/skill link (slug lower-cased), grouped by candidate in id order, for reports.
+     * Rows are streamed from the replica (the primary when primary is true, e.g. right after a write the replica may not
+     * have yet) without building DTOs; candidates without skills are not visited.
+     * The Postgres driver only uses a cursor inside a transaction, so the read runs in one (rolled back, nothing is
+     * written) and fetches SKILL_LINK_FETCH_SIZE rows at a time instead of buffering the whole result.
+     */
+    public void forEachSkillLink(boolean primary, SkillLinkConsumer consumer) {
+        try (EntityManager em = (primary ? emf : readEmf).createEntityManager()) {
+            em.getTransaction().begin();
+            try {
+                TypedQuery<Object[]> q = em.createQuery(
+                        "SELECT c.id, c.name, s.category, lower(s.slug) FROM CandidateSkill cs JOIN cs.candidate c JOIN cs.skill s" +
+                                " ORDER BY c.id", Object[].class);
+                q.setHint(HibernateHints.HINT_READ_ONLY, true);
+                q.setHint(HibernateHints.HINT_FETCH_SIZE, SKILL_LINK_FETCH_SIZE);
+                try (Stream<Object[]> rows = q.getResultStream()) {
+                    rows.forEach(row -> consumer.accept((Integer) row[0], (String) row[1], (SkillCategory) row[2], (String) row[3]));
                 }
-
-                em.getTransaction().commit();
-            } catch (Exception e) {
-                if (em.getTransaction().isActive()) em.getTransaction().rollback();
-                throw e;
-            }
-            // reload to return fully initialized DTO
-            try (EntityManager em2 = emf.createEntityManager()) {
-                Candidate refreshed = em2.find(Candidate.class, candidateId);
-                if (refreshed != null && refreshed.getCandidateSkills() != null) refreshed.getCandidateSkills().size();
-                return refreshed == null ? null : toDTO(refreshed);
+            } finally {
+                em.getTransaction().rollback();
             }
         }
     }
 
+    // ----- mapping helpers -----
+    private TypedQuery<Object[]> selectRows(EntityManager em, String whereAndOrder) {
+        TypedQuery<Object[]> q = em.createQuery(SELECT_ROWS + whereAndOrder, Object[].class);
+        q.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return q;
+    }
+
+    // Folds candidate/skill rows into DTOs, keeping the query's candidate order
+    private List<CandidateDTO> toDTOs(List<Object[]> rows) {
+        Map<Integer, CandidateDTO> byId = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            CandidateDTO dto = byId.computeIfAbsent((Integer) row[0],
+                    id -> new CandidateDTO(id, (String) row[1], (String) row[2], (String) row[3], new HashSet<>()));
+            if (row[4] != null) {
+                dto.getSkills().add(new SkillRefDTO((Integer) row[4], (String) row[5], (String) row[6]));
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
 
-    // ----- mapping helper -----
     private CandidateDTO toDTO(Candidate c) {
         Set<SkillRefDTO> skills = c.getCandidateSkills() == null ? new HashSet<>() :
                 c.getCandidateSkills().stream()
@@ -247,8 +508,10 @@ public class CandidateDAO implements IDAO<CandidateDTO, Integer> {
         return dto;
     }
 
-    public void Populate() {
-        Populator.populateSampleData();
+    public String Populate() {
+        String result = Populator.populateSampleData();
+        fireChanged(null); // written around the DAO, so anything may have changed
+        return result;
     }
 
 }
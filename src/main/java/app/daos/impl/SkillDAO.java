@@ -1,51 +1,109 @@
 package app.daos.impl;
 
+import app.daos.IChangeListener;
 import app.daos.IDAO;
 import app.dtos.CandidateRefDTO;
 import app.dtos.SkillDTO;
 import app.entities.CandidateSkill;
 import app.entities.Skill;
+import app.enums.SkillCategory;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.TypedQuery;
 import lombok.NoArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public class SkillDAO implements IDAO<SkillDTO, Integer> {
 
+    // Read-only projection: one row per skill/candidate pair, mapped straight to DTOs without managed entities
+    private static final String SELECT_ROWS =
+            "SELECT s.id, s.slug, s.name, s.description, s.category, c.id, c.name" +
+            " FROM Skill s LEFT JOIN s.candidateSkills cs LEFT JOIN cs.candidate c";
+
+    // Query cache region for category lookups; evicted whenever a skill is written through this DAO
+    public static final String CATEGORY_QUERY_REGION = "skills.byCategory";
+    public static final String SLUG_QUERY_REGION = "skills.slugs";
+
     private static SkillDAO instance;
     private static EntityManagerFactory emf;
+    private static EntityManagerFactory readEmf; // read replica for GET traffic; same as emf when none is configured
+    private final List<IChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     public static SkillDAO getInstance(EntityManagerFactory _emf) {
+        return getInstance(_emf, _emf);
+    }
+
+    public static SkillDAO getInstance(EntityManagerFactory _emf, EntityManagerFactory _readEmf) {
         if (instance == null) {
             emf = _emf;
+            readEmf = _readEmf;
             instance = new SkillDAO();
         }
         return instance;
     }
 
+    // Notified with the skill id after updates and deletes (a new skill has no candidates yet), e.g. to rebuild reports
+    public void addChangeListener(IChangeListener listener) {
+        listeners.add(listener);
+    }
+
     @Override
     public SkillDTO read(Integer id) {
-        try (EntityManager em = emf.createEntityManager()) {
-            Skill s = em.find(Skill.class, id);
-            if (s == null) return null;
-            if (s.getCandidateSkills() != null) s.getCandidateSkills().size();
-            return toDTO(s);
+        return readFrom(readEmf, id);
+    }
+
+    // Reads that follow a write go to the primary so they can't miss the row on a lagging replica
+    private SkillDTO readFrom(EntityManagerFactory factory, Integer id) {
+        try (EntityManager em = factory.createEntityManager()) {
+            TypedQuery<Object[]> q = selectRows(em, " WHERE s.id = :id");
+            q.setParameter("id", id);
+            return toDTOs(q.getResultList()).stream().findFirst().orElse(null);
         }
     }
 
     @Override
     public List<SkillDTO> readAll() {
-        try (EntityManager em = emf.createEntityManager()) {
-            TypedQuery<Skill> q = em.createQuery("SELECT s FROM Skill s", Skill.class);
-            List<Skill> list = q.getResultList();
-            list.forEach(s -> { if (s.getCandidateSkills() != null) s.getCandidateSkills().size(); });
-            return list.stream().map(this::toDTO).collect(Collectors.toList());
+        try (EntityManager em = readEmf.createEntityManager()) {
+            return toDTOs(selectRows(em, " ORDER BY s.id").getResultList());
+        }
+    }
+
+    /**
+     * Ids of all skills in the given category. Served from the query cache after the first call,
+     * so category filters don't have to join the skills table on every request.
+     */
+    public List<Integer> readIdsByCategory(SkillCategory category) {
+        try (EntityManager em = readEmf.createEntityManager()) {
+            TypedQuery<Integer> q = em.createQuery("SELECT s.id FROM Skill s WHERE s.category = :category", Integer.class);
+            q.setParameter("category", category);
+            q.setHint(HibernateHints.HINT_CACHEABLE, true);
+            q.setHint(HibernateHints.HINT_CACHE_REGION, CATEGORY_QUERY_REGION);
+            return q.getResultList();
+        }
+    }
+
+    /**
+     * Lower-case slugs of the whole skill catalogue, from the query cache after the first call.
+     * Every slug a candidate can reference is in here, so the stats snapshot built from it covers all candidates.
+     */
+    public Set<String> readAllSlugs() {
+        try (EntityManager em = readEmf.createEntityManager()) {
+            TypedQuery<String> q = em.createQuery("SELECT lower(s.slug) FROM Skill s WHERE s.slug IS NOT NULL", String.class);
+            q.setHint(HibernateHints.HINT_CACHEABLE, true);
+            q.setHint(HibernateHints.HINT_CACHE_REGION, SLUG_QUERY_REGION);
+            return new HashSet<>(q.getResultList());
         }
     }
 
@@ -62,12 +120,9 @@ public class SkillDAO implements IDAO<SkillDTO, Integer> {
 
             em.persist(s);
             em.getTransaction().commit();
+            evictCaches(s.getId());
 
-            try (EntityManager em2 = emf.createEntityManager()) {
-                Skill persisted = em2.find(Skill.class, s.getId());
-                if (persisted != null && persisted.getCandidateSkills() != null) persisted.getCandidateSkills().size();
-                return persisted == null ? null : toDTO(persisted);
-            }
+            return readFrom(emf, s.getId());
         }
     }
 
@@ -87,6 +142,8 @@ public class SkillDAO implements IDAO<SkillDTO, Integer> {
 
             Skill merged = em.merge(existing);
             em.getTransaction().commit();
+            evictCaches(id);
+            listeners.forEach(listener -> listener.changed(List.of(id)));
 
             if (merged.getCandidateSkills() != null) merged.getCandidateSkills().size();
             return toDTO(merged);
@@ -100,6 +157,8 @@ public class SkillDAO implements IDAO<SkillDTO, Integer> {
             Skill s = em.find(Skill.class, id);
             if (s != null) em.remove(s);
             em.getTransaction().commit();
+            evictCaches(id);
+            if (s != null) listeners.forEach(listener -> listener.changed(List.of(id)));
         }
     }
 
@@ -110,7 +169,52 @@ public class SkillDAO implements IDAO<SkillDTO, Integer> {
         }
     }
 
-    // ---- mapping helper ----
+    // Hibernate already invalidates on its own writes; evicting explicitly also covers category moves
+    // and keeps cached lookups honest right after the commit
+    private void evictCaches(Integer id) {
+        evictCaches(emf, id);
+        if (readEmf != emf) evictCaches(readEmf, id); // the replica factory has its own caches
+    }
+
+    /**
+     * Hibernate only invalidates a factory's query cache on writes made through that factory, so the replica's skill
+     * regions never notice writes to skills or candidate_skills made around this DAO (the populator, bulk imports,
+     * skill linking). Those call this after their commit. Does nothing without a separate replica.
+     */
+    public void evictReplicaQueryCaches() {
+        if (readEmf == emf) return;
+        Cache cache = readEmf.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Skill.class);
+        cache.evictQueryRegion(CATEGORY_QUERY_REGION);
+        cache.evictQueryRegion(SLUG_QUERY_REGION);
+    }
+
+    private void evictCaches(EntityManagerFactory factory, Integer id) {
+        factory.getCache().evict(Skill.class, id);
+        factory.unwrap(SessionFactory.class).getCache().evictQueryRegion(CATEGORY_QUERY_REGION);
+        factory.unwrap(SessionFactory.class).getCache().evictQueryRegion(SLUG_QUERY_REGION);
+    }
+
+    // ---- mapping helpers ----
+    private TypedQuery<Object[]> selectRows(EntityManager em, String whereAndOrder) {
+        TypedQuery<Object[]> q = em.createQuery(SELECT_ROWS + whereAndOrder, Object[].class);
+        q.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return q;
+    }
+
+    // Folds skill/candidate rows into DTOs, keeping the query's skill order
+    private List<SkillDTO> toDTOs(List<Object[]> rows) {
+        Map<Integer, SkillDTO> byId = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            SkillDTO dto = byId.computeIfAbsent((Integer) row[0],
+                    id -> new SkillDTO(id, (String) row[1], (String) row[2], (String) row[3], (SkillCategory) row[4], new HashSet<>()));
+            if (row[5] != null) {
+                dto.getCandidates().add(new CandidateRefDTO((Integer) row[5], (String) row[6]));
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
     private SkillDTO toDTO(Skill s) {
         Set<CandidateRefDTO> candidates = s.getCandidateSkills() == null ? new HashSet<>() :
                 s.getCandidateSkills().stream()
@@ -0,0 +1,127 @@
+package app.daos.impl;
+
+import app.dtos.PopularityScoreDTO;
+import app.entities.SkillStat;
+import app.services.SkillStats;
+import app.services.StatsSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NoArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Purpose: Stores the external stats snapshot in skill_stats and runs the reports that aggregate over it in SQL,
+ * so only the result leaves the database.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class SkillStatsDAO {
+
+    private static final int BATCH_SIZE = 500;
+
+    // A row is only replaced by stats fetched after the ones it holds. Stats a snapshot carried over from a failed call
+    // keep their original fetch time, so they never overwrite fresher ones another instance has stored.
+    private static final String UPSERT_SQL =
+            "INSERT INTO skill_stats (slug, popularity_score, average_salary, category_key, description, updated_at, fetched_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?)" +
+            " ON CONFLICT (slug) DO UPDATE SET popularity_score = EXCLUDED.popularity_score," +
+            " average_salary = EXCLUDED.average_salary, category_key = EXCLUDED.category_key," +
+            " description = EXCLUDED.description, updated_at = EXCLUDED.updated_at, fetched_at = EXCLUDED.fetched_at" +
+            " WHERE skill_stats.fetched_at < EXCLUDED.fetched_at";
+
+    // A slug missing from a snapshot may just have been in a failed call, so only slugs that left the catalogue are dropped
+    private static final String DELETE_REMOVED_SQL =
+            "DELETE FROM skill_stats ss WHERE NOT EXISTS (SELECT 1 FROM skills s WHERE lower(s.slug) = ss.slug)";
+
+    // Same rules as before: average over the candidate's skills that have a score, ties to the lowest id
+    private static final String TOP_BY_POPULARITY_SQL =
+            "SELECT cs.candidate_id, CAST(round(avg(ss.popularity_score), 2) AS double precision)" +
+            " FROM candidate_skills cs" +
+            " JOIN skills s ON s.id = cs.skill_id" +
+            " JOIN skill_stats ss ON ss.slug = lower(s.slug)" +
+            " WHERE ss.popularity_score IS NOT NULL" +
+            " GROUP BY cs.candidate_id" +
+            " ORDER BY avg(ss.popularity_score) DESC, cs.candidate_id" +
+            " LIMIT 1";
+
+    private static SkillStatsDAO instance;
+    private static EntityManagerFactory emf;
+    private static EntityManagerFactory readEmf; // read replica for reports; same as emf when none is configured
+
+    public static SkillStatsDAO getInstance(EntityManagerFactory _emf) {
+        return getInstance(_emf, _emf);
+    }
+
+    public static SkillStatsDAO getInstance(EntityManagerFactory _emf, EntityManagerFactory _readEmf) {
+        if (instance == null) {
+            emf = _emf;
+            readEmf = _readEmf;
+            instance = new SkillStatsDAO();
+        }
+        return instance;
+    }
+
+    /**
+     * Upserts every slug of the snapshot in JDBC batches and drops rows for slugs no longer in skills, in one transaction.
+     */
+    public void save(StatsSnapshot snapshot) {
+        if (snapshot.statsBySlug().isEmpty()) return; // nothing fetched yet; keep what is stored
+        try (EntityManager em = emf.createEntityManager()) {
+            em.getTransaction().begin();
+            try {
+                em.unwrap(Session.class).doWork(conn -> {
+                    try (PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+                        int pending = 0;
+                        for (SkillStats stats : snapshot.statsBySlug().values()) {
+                            ps.setString(1, stats.slug());
+                            ps.setObject(2, stats.popularityScore(), Types.INTEGER);
+                            ps.setObject(3, stats.averageSalary(), Types.INTEGER);
+                            ps.setString(4, stats.categoryKey());
+                            ps.setString(5, stats.description());
+                            ps.setObject(6, stats.updatedAt() == null ? null : stats.updatedAt().toOffsetDateTime(),
+                                    Types.TIMESTAMP_WITH_TIMEZONE);
+                            ps.setTimestamp(7, Timestamp.from(snapshot.fetchedAt(stats.slug())));
+                            ps.addBatch();
+                            if (++pending == BATCH_SIZE) {
+                                ps.executeBatch();
+                                pending = 0;
+                            }
+                        }
+                        if (pending > 0) ps.executeBatch();
+                    }
+                });
+                NativeQuery<?> delete = em.createNativeQuery(DELETE_REMOVED_SQL).unwrap(NativeQuery.class);
+                delete.addSynchronizedEntityClass(SkillStat.class); // only invalidate what this touches
+                delete.executeUpdate();
+                em.getTransaction().commit();
+            } catch (RuntimeException e) {
+                if (em.getTransaction().isActive()) em.getTransaction().rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The candidate with the highest average popularity over its scored skills, computed in the database;
+     * null when no candidate has a skill with a popularity score.
+     */
+    public PopularityScoreDTO readTopByPopularity() {
+        return readTopByPopularity(false);
+    }
+
+    // primary = skip the replica, e.g. right after a write it may not have yet
+    public PopularityScoreDTO readTopByPopularity(boolean primary) {
+        try (EntityManager em = (primary ? emf : readEmf).createEntityManager()) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = em.createNativeQuery(TOP_BY_POPULARITY_SQL).getResultList();
+            if (rows.isEmpty()) return null;
+            Object[] row = rows.get(0);
+            return new PopularityScoreDTO(((Number) row[0]).intValue(), ((Number) row[1]).doubleValue());
+        }
+    }
+}
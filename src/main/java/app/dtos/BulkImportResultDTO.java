@@ -0,0 +1,24 @@
+package app.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkImportResultDTO {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkRowStatusDTO> rows;
+
+    public static BulkImportResultDTO of(List<BulkRowStatusDTO> rows) {
+        int created = (int) rows.stream().filter(r -> BulkRowStatusDTO.CREATED.equals(r.getStatus())).count();
+        return new BulkImportResultDTO(rows.size(), created, rows.size() - created, rows);
+    }
+}
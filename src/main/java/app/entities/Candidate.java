@@ -15,7 +15,9 @@ import java.util.Set;
 public class Candidate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence instead of IDENTITY so Hibernate can assign ids up front and batch the inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidates_seq")
+    @SequenceGenerator(name = "candidates_seq", sequenceName = "candidates_seq", allocationSize = 50)
     private int id;
     private String name;
     private String phone;
@@ -11,12 +11,16 @@ import lombok.*;
 @ToString(exclude = {"candidate", "skill"})
 @Entity
 @Table(name = "candidate_skills", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"candidate_id", "skill_id"})
+        @UniqueConstraint(name = "uk_candidate_skills_candidate_skill", columnNames = {"candidate_id", "skill_id"})
+}, indexes = {
+        @Index(name = "idx_candidate_skills_skill_id", columnList = "skill_id")
 })
 public class CandidateSkill {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence instead of IDENTITY so Hibernate can assign ids up front and batch the inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidate_skills_seq")
+    @SequenceGenerator(name = "candidate_skills_seq", sequenceName = "candidate_skills_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(optional = false)
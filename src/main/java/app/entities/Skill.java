@@ -4,6 +4,8 @@ import app.dtos.SkillRefDTO;
 import app.enums.SkillCategory;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,8 +16,14 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString(exclude = {"candidateSkills"})
-@Table(name = "skills")
+@Table(name = "skills", indexes = {
+        // mirrors V2__indexes.sql so the hbm2ddl-built test schema has them too
+        @Index(name = "idx_skills_slug", columnList = "slug"),
+        @Index(name = "idx_skills_category", columnList = "category")
+})
 public class Skill {
 
     @Id
@@ -0,0 +1,38 @@
+package app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * Purpose: The external provider's stats for one skill slug, stored so reports can aggregate them in SQL.
+ * Written only by SkillStatsDAO from stats snapshots; slug is the lower-case slug the provider answered for.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "skill_stats")
+public class SkillStat {
+
+    @Id
+    private String slug;
+    @Column(name = "popularity_score")
+    private Integer popularityScore;
+    @Column(name = "average_salary")
+    private Integer averageSalary;
+    @Column(name = "category_key")
+    private String categoryKey;
+    @Column(columnDefinition = "text")
+    private String description;
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+    // takenAt of the snapshot that wrote the row; an older snapshot never overwrites a newer one
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+}
@@ -0,0 +1,22 @@
+package app.routes;
+
+import app.controllers.impl.AdminController;
+import app.security.enums.Role;
+import io.javalin.apibuilder.EndpointGroup;
+
+import static io.javalin.apibuilder.ApiBuilder.*;
+
+public class AdminRoutes {
+
+    private final AdminController adminController = new AdminController();
+
+    public EndpointGroup getRoutes() {
+        return () -> {
+            get("/cache", adminController::cacheStats, Role.ADMIN);
+            get("/pool", adminController::poolStats, Role.ADMIN);
+            get("/stats", adminController::externalStats, Role.ADMIN);
+            post("/stats/refresh", adminController::refreshStats, Role.ADMIN);
+            get("/reports", adminController::reportStats, Role.ADMIN);
+        };
+    }
+}
@@ -14,11 +14,14 @@ public class CandidateRoutes {
         return () -> {
             get("/populate", candidateController::populate, Role.ADMIN);
             post("/", candidateController::create, Role.USER);
+            post("/bulk", candidateController::createBulk, Role.USER);
             get("/", candidateController::readAll, Role.ANYONE);
             get("/filter", candidateController::readByCategory, Role.ANYONE);
             get("/{id}", candidateController::read, Role.ANYONE);
             put("/{id}", candidateController::update, Role.USER);
+            patch("/{id}", candidateController::patch, Role.USER);
             delete("/{id}", candidateController::delete, Role.ADMIN);
+            put("/{id}/skills", candidateController::linkSkills, Role.USER);
             put("/{candidateId}/skills/{skillId}", candidateController::linkSkill, Role.USER);
         };
     }
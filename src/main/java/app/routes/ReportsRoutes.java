@@ -13,6 +13,10 @@ public class ReportsRoutes {
     public EndpointGroup getRoutes() {
         return () -> {
             get("/candidates/top-by-popularity", reportController::topByPopularity, Role.ANYONE);
+            get("/candidates/top", reportController::top, Role.ANYONE);
+            get("/categories/leaders", reportController::categoryLeaders, Role.ANYONE);
+            get("/salaries", reportController::salaries, Role.ANYONE);
+            get("/summary", reportController::summary, Role.ANYONE);
         };
     }
 }
@@ -10,11 +10,13 @@ public class Routes {
 
     private final CandidateRoutes candidateRoutes = new CandidateRoutes();
     private final ReportsRoutes reportsRoutes = new ReportsRoutes();
+    private final AdminRoutes adminRoutes = new AdminRoutes();
 
     public EndpointGroup getRoutes() {
         return () -> {
             path("/candidates", candidateRoutes.getRoutes());
             path("/reports", reportsRoutes.getRoutes());
+            path("/admin", adminRoutes.getRoutes());
         };
     }
 
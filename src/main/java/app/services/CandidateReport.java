@@ -0,0 +1,155 @@
+package app.services;
+
+import app.enums.SkillCategory;
+import app.utils.QuantileSketch;
+import app.utils.TopN;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Builds the candidate reports (top-n by popularity, leaders per skill category and salary distributions)
+ * in one pass over the candidate/skill links, which must arrive grouped by candidate.
+ * A candidate's score is the average popularity of its skills that have one; its salary is the average
+ * averageSalary of its skills that have one. Not thread-safe: one instance per pass, but finished reports over
+ * disjoint sets of candidates can be merged, so the rows can be split across threads.
+ */
+public class CandidateReport {
+
+    public record Scored(int id, String name, double averagePopularityScore, int scoredSkills) {
+    }
+
+    // best average first; ties go to the lowest id
+    static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble(Scored::averagePopularityScore).reversed()
+            .thenComparingInt(Scored::id);
+
+    private final Map<String, SkillStats> statsBySlug;
+    private final TopN<Scored> top;
+    private final Map<SkillCategory, TopN<Scored>> leaders = new EnumMap<>(SkillCategory.class);
+    private final QuantileSketch salaries = new QuantileSketch();
+    private final Map<SkillCategory, QuantileSketch> salariesByCategory = new EnumMap<>(SkillCategory.class);
+    private final int n;
+    private long candidates;
+
+    // the candidate whose rows are currently coming in
+    private int currentId = -1;
+    private String currentName;
+    private final Totals overall = new Totals();
+    private final Map<SkillCategory, Totals> byCategory = new EnumMap<>(SkillCategory.class);
+
+    public CandidateReport(Map<String, SkillStats> statsBySlug, int n) {
+        this.statsBySlug = statsBySlug;
+        this.n = n;
+        this.top = new TopN<>(n, BEST_FIRST);
+    }
+
+    // One candidate/skill link; slug is lower-case, category may be null
+    public void accept(int candidateId, String candidateName, SkillCategory category, String slug) {
+        if (candidateId != currentId) {
+            flush();
+            currentId = candidateId;
+            currentName = candidateName;
+        }
+        SkillStats stats = slug == null ? null : statsBySlug.get(slug);
+        if (stats == null) return;
+        overall.add(stats);
+        if (category != null) byCategory.computeIfAbsent(category, c -> new Totals()).add(stats);
+    }
+
+    // Call once after the last row
+    public CandidateReport finish() {
+        flush();
+        return this;
+    }
+
+    private void flush() {
+        if (currentId == -1) return;
+        candidates++;
+        if (overall.popularityCount > 0) top.offer(overall.scored(currentId, currentName));
+        if (overall.salaryCount > 0) salaries.add(overall.averageSalary());
+        byCategory.forEach((category, totals) -> {
+            if (totals.popularityCount > 0)
+                leaders.computeIfAbsent(category, c -> new TopN<>(n, BEST_FIRST)).offer(totals.scored(currentId, currentName));
+            if (totals.salaryCount > 0)
+                salariesByCategory.computeIfAbsent(category, c -> new QuantileSketch()).add(totals.averageSalary());
+        });
+        currentId = -1;
+        overall.clear();
+        byCategory.clear();
+    }
+
+    // Folds another finished report over different candidates into this one
+    public CandidateReport merge(CandidateReport other) {
+        top.merge(other.top);
+        other.leaders.forEach((category, best) -> leaders.merge(category, best, TopN::merge));
+        salaries.merge(other.salaries);
+        other.salariesByCategory.forEach((category, sketch) -> salariesByCategory.merge(category, sketch, QuantileSketch::merge));
+        candidates += other.candidates;
+        return this;
+    }
+
+    public List<Scored> top() {
+        return top.toList();
+    }
+
+    public Map<SkillCategory, List<Scored>> leaders() {
+        Map<SkillCategory, List<Scored>> result = new EnumMap<>(SkillCategory.class);
+        leaders.forEach((category, best) -> result.put(category, best.toList()));
+        return result;
+    }
+
+    public QuantileSketch salaries() {
+        return salaries;
+    }
+
+    public Map<SkillCategory, QuantileSketch> salariesByCategory() {
+        return salariesByCategory;
+    }
+
+    public long candidates() {
+        return candidates;
+    }
+
+    public Map<String, Object> salaryDistribution() {
+        Map<String, Object> perCategory = new LinkedHashMap<>();
+        salariesByCategory.forEach((category, sketch) -> perCategory.put(category.name(), sketch.summary()));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("all", salaries.summary());
+        result.put("byCategory", perCategory);
+        return result;
+    }
+
+    private static final class Totals {
+        long popularitySum;
+        int popularityCount;
+        long salarySum;
+        int salaryCount;
+
+        void add(SkillStats stats) {
+            if (stats.popularityScore() != null) {
+                popularitySum += stats.popularityScore();
+                popularityCount++;
+            }
+            if (stats.averageSalary() != null) {
+                salarySum += stats.averageSalary();
+                salaryCount++;
+            }
+        }
+
+        Scored scored(int id, String name) {
+            return new Scored(id, name, (double) popularitySum / popularityCount, popularityCount);
+        }
+
+        double averageSalary() {
+            return (double) salarySum / salaryCount;
+        }
+
+        void clear() {
+            popularitySum = popularityCount = 0;
+            salarySum = salaryCount = 0;
+        }
+    }
+}
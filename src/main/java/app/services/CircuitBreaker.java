@@ -0,0 +1,84 @@
+package app.services;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purpose: Circuit breaker for the external stats provider.
+ * Opens after a run of consecutive failures and rejects calls until the open period is over;
+ * then one trial call decides whether it closes again or stays open for another period.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialRunning;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timesOpened = new AtomicLong();
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    // false = fail fast without calling the provider
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        boolean allowed = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialRunning) yield false; // only one trial call at a time
+                trialRunning = true;
+                yield true;
+            }
+        };
+        if (!allowed) rejected.incrementAndGet();
+        return allowed;
+    }
+
+    // Gives back a permit that was acquired but never used for a call
+    public synchronized void release() {
+        trialRunning = false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialRunning = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        trialRunning = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) timesOpened.incrementAndGet();
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("state", state);
+        result.put("consecutiveFailures", consecutiveFailures);
+        result.put("timesOpened", timesOpened.get());
+        result.put("rejected", rejected.get());
+        return result;
+    }
+}
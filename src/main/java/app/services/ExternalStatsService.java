@@ -1,125 +1,303 @@
 // java
 package app.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import app.dtos.SkillRefDTO;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 public class ExternalStatsService {
 
-    // allow override from tests via system property EXTERNAL_STATS_BASE
-    private static final String DEFAULT_BASE = "https://apiprovider.cphbusinessapps.dk/api/v1/skills/stats?slugs=";
+    private static ExternalStatsService instance;
+
     private final String base;
-    private final HttpClient http = HttpClient.newHttpClient();
-    private final ObjectMapper mapper;
+    private final HttpClient http;
+    private final Duration requestTimeout;
+    private final SkillStatsParser parser = new SkillStatsParser();
+    // bulkhead: a hanging provider can tie up at most this many calls; the rest fail fast
+    private final Semaphore callPermits;
+    private final int maxConcurrentCalls;
+    private final CircuitBreaker breaker;
+    private final int chunkSize;
+    private final int chunkParallelism;
+
+    // counters for /api/admin/stats
+    private final AtomicLong remoteCalls = new AtomicLong();
+    private final AtomicLong fetchedSlugs = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong timedOutCalls = new AtomicLong();
+    private final AtomicLong abortedCalls = new AtomicLong(); // exchanges still running when the call gave up on them
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+    private final Map<String, AtomicLong> responsesByVersion = new ConcurrentHashMap<>();
+    private final AtomicLong gzipResponses = new AtomicLong();
+    private final LongAdder bytesOnWire = new LongAdder();  // response body bytes as received (compressed when gzip)
+    private final LongAdder bytesDecoded = new LongAdder(); // the same bodies after decompression
+
+    // Shared instance, so every caller shares the bulkhead and circuit breaker
+    public static synchronized ExternalStatsService getInstance() {
+        if (instance == null) {
+            instance = new ExternalStatsService();
+        }
+        return instance;
+    }
 
+    // Settings come from system properties (EXTERNAL_STATS_*), see ExternalStatsSettings
     public ExternalStatsService() {
-        this.base = System.getProperty("EXTERNAL_STATS_BASE", DEFAULT_BASE);
-        mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this(ExternalStatsSettings.fromSystemProperties());
     }
 
-    public Map<String, JsonNode> fetchStatsBySlugs(Set<String> slugs) {
-        if (slugs == null || slugs.isEmpty()) return Map.of();
-        String param = slugs.stream()
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(String::toLowerCase)
-                .collect(Collectors.joining(","));
-        if (param.isEmpty()) return Map.of();
-
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(base + param))
-                .GET()
-                .header("Accept", "application/json")
+    public ExternalStatsService(ExternalStatsSettings settings) {
+        this.base = settings.getBase();
+        // HTTP/2 multiplexes all calls to the provider over one reused connection (falls back to HTTP/1.1 keep-alive).
+        // A fixed number of threads, so a burst can't grow the client's thread count. Bodies arrive as byte[], so no task
+        // blocks on the network and the queue drains quickly; the queue is unbounded because the client's own tasks must
+        // never be rejected or run on the thread that submits them
+        AtomicInteger threadCount = new AtomicInteger();
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.getConnectTimeout())
+                .executor(Executors.newFixedThreadPool(settings.getClientThreads(), r -> {
+                    Thread t = new Thread(r, "stats-client-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }))
                 .build();
+        this.requestTimeout = settings.getRequestTimeout();
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+        this.callPermits = new Semaphore(settings.getMaxConcurrentCalls());
+        this.breaker = new CircuitBreaker(settings.getBreakerFailureThreshold(), settings.getBreakerOpenDuration());
+        this.chunkSize = settings.getChunkSize();
+        this.chunkParallelism = settings.getChunkParallelism();
+    }
+
+    /**
+     * Fetches the given lower-case slugs from the provider. The future never completes exceptionally:
+     * slugs whose chunk failed are reported in failedSlugs instead.
+     */
+    public CompletableFuture<StatsFetch> fetchAll(Set<String> slugs) {
+        Map<String, SkillStats> result = new ConcurrentHashMap<>();
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        fetchedSlugs.addAndGet(slugs.size());
+        return fetchInChunks(slugs, (chunk, fetched) -> {
+            if (fetched == null) {
+                failed.addAll(chunk);
+                return;
+            }
+            for (String slug : chunk) {
+                SkillStats stats = fetched.get(slug);
+                if (stats != null) result.put(slug, stats);
+            }
+        }).thenApply(v -> new StatsFetch(result, failed));
+    }
 
+    /**
+     * Splits the slugs into chunks of chunkSize and fetches them with at most chunkParallelism calls at a time,
+     * so the query string stays short and no single large response holds everything up.
+     * Every chunk is handed to onChunk as soon as it is done; a failed chunk gets null stats and the others are unaffected.
+     */
+    private CompletableFuture<Void> fetchInChunks(Set<String> slugs, BiConsumer<Set<String>, Map<String, SkillStats>> onChunk) {
+        List<Set<String>> chunks = new ArrayList<>();
+        Set<String> current = new HashSet<>();
+        for (String slug : slugs) {
+            current.add(slug);
+            if (current.size() == chunkSize) {
+                chunks.add(current);
+                current = new HashSet<>();
+            }
+        }
+        if (!current.isEmpty()) chunks.add(current);
+
+        // each lane fetches every n-th chunk one after the other, which bounds the parallelism without blocking a thread
+        int lanes = Math.min(chunkParallelism, chunks.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < chunks.size(); i += lanes) {
+                Set<String> chunk = chunks.get(i);
+                // a chunk that throws is handed on as failed, and never stops the lane's later chunks
+                chain = chain.thenCompose(v -> fetchRemote(chunk))
+                        .exceptionally(e -> null)
+                        .thenAccept(fetched -> onChunk.accept(chunk, fetched))
+                        .exceptionally(e -> null);
+            }
+            running[lane] = chain;
+        }
+        return CompletableFuture.allOf(running);
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("remoteCalls", remoteCalls.get());
+        result.put("fetchedSlugs", fetchedSlugs.get());
+        result.put("failedCalls", failedCalls.get());
+        result.put("timedOutCalls", timedOutCalls.get());
+        result.put("abortedCalls", abortedCalls.get());
+        result.put("activeCalls", maxConcurrentCalls - callPermits.availablePermits());
+        result.put("bulkheadRejections", bulkheadRejections.get());
+        result.put("breaker", breaker.metrics());
+        // The JDK client doesn't report connection reuse. HTTP_2 responses all share the multiplexed connection,
+        // so their share of the responses is the closest measure available
+        Map<String, Long> versions = new TreeMap<>();
+        responsesByVersion.forEach((version, count) -> versions.put(version, count.get()));
+        result.put("responsesByHttpVersion", versions);
+        result.put("gzipResponses", gzipResponses.get());
+        long wire = bytesOnWire.sum();
+        long decoded = bytesDecoded.sum();
+        result.put("bytesOnWire", wire);
+        result.put("bytesDecoded", decoded);
+        result.put("compressionRatio", wire == 0 ? 0.0 : (double) decoded / wire);
+        return result;
+    }
+
+    /**
+     * Completes with null when the call failed or was refused, so callers can tell a failed chunk from
+     * slugs the provider has no stats for. Refused means the bulkhead is full or the circuit breaker is open;
+     * neither waits for the provider.
+     */
+    private CompletableFuture<Map<String, SkillStats>> fetchRemote(Set<String> slugs) {
+        if (!callPermits.tryAcquire()) {
+            bulkheadRejections.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!breaker.tryAcquire()) {
+            callPermits.release();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> exchange;
         try {
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() != 200) return Map.of();
-
-            JsonNode root = mapper.readTree(resp.body());
-            JsonNode data = root.get("data");
-            if (data == null || !data.isArray()) return Map.of();
-
-            Map<String, JsonNode> map = new HashMap<>();
-            for (JsonNode item : data) {
-                JsonNode slugNode = item.get("slug");
-                if (slugNode != null && !slugNode.asText().isBlank()) {
-                    map.put(slugNode.asText().toLowerCase(), item);
-                }
+            String param = slugs.stream()
+                    .map(slug -> URLEncoder.encode(slug, StandardCharsets.UTF_8))
+                    .collect(Collectors.joining(","));
+            HttpRequest req = HttpRequest.newBuilder()
+                    .uri(URI.create(base + param))
+                    .timeout(requestTimeout)
+                    .GET()
+                    .header("Accept", "application/json")
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+            exchange = http.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            // never reached the provider: give back the permit and the breaker's trial slot
+            callPermits.release();
+            breaker.release();
+            failedCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        remoteCalls.incrementAndGet();
+        // the permit is held until the exchange itself is over (body received, failed or aborted),
+        // not just until this call gave up on it
+        exchange.whenComplete((resp, e) -> callPermits.release());
+        // the request timeout only covers the response headers, so the body transfer is bounded separately
+        return exchange
+                .thenApply(this::parseStats)
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    // cancelling the send future aborts the exchange and closes its stream; a no-op when it is already done
+                    if (exchange.cancel(true)) abortedCalls.incrementAndGet();
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof HttpTimeoutException || cause instanceof TimeoutException) {
+                        timedOutCalls.incrementAndGet();
+                    }
+                    return null;
+                })
+                .whenComplete((fetched, e) -> {
+                    if (fetched != null) {
+                        breaker.onSuccess();
+                    } else {
+                        failedCalls.incrementAndGet();
+                        breaker.onFailure();
+                    }
+                });
+    }
+
+    // Runs once the whole body has arrived, so parsing never waits on the network
+    private Map<String, SkillStats> parseStats(HttpResponse<byte[]> resp) {
+        responsesByVersion.computeIfAbsent(resp.version().name(), v -> new AtomicLong()).incrementAndGet();
+        if (resp.statusCode() != 200) return null;
+
+        byte[] body = resp.body();
+        bytesOnWire.add(body.length);
+        // the JDK client doesn't decompress by itself
+        boolean gzip = resp.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+        if (gzip) gzipResponses.incrementAndGet();
+        try (CountingInputStream decoded = new CountingInputStream(gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(body))
+                : new ByteArrayInputStream(body))) {
+            try {
+                return parser.parse(decoded);
+            } finally {
+                bytesDecoded.add(decoded.getCount());
             }
-            return map;
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return Map.of();
+        } catch (IOException e) {
+            return null;
         }
     }
 
-    public void enrichSkillRefs(Collection<SkillRefDTO> skills, Map<String, JsonNode> statsBySlug) {
+    public void enrichSkillRefs(Collection<SkillRefDTO> skills, Map<String, SkillStats> statsBySlug) {
         if (skills == null || skills.isEmpty()) return;
 
         for (SkillRefDTO s : skills) {
             if (s == null || s.getSlug() == null) continue;
 
-            JsonNode stat = statsBySlug.get(s.getSlug().toLowerCase());
+            SkillStats stat = statsBySlug.get(s.getSlug().toLowerCase());
             if (stat == null) continue;
 
-            JsonNode pop = stat.get("popularityScore");
-            JsonNode avg = stat.get("averageSalary");
-            if (pop != null && !pop.isNull()) s.setPopularityScore(pop.asInt());
-            if (avg != null && !avg.isNull()) s.setAverageSalary(avg.asInt());
-
-            JsonNode catKey = stat.get("categoryKey");
-            if (catKey != null && !catKey.isNull()) s.setCategoryKey(catKey.asText());
-
-            JsonNode desc = stat.get("description");
-            if (desc != null && !desc.isNull()) s.setDescription(desc.asText());
-
-            JsonNode updated = stat.get("updatedAt");
-            if (updated != null && !updated.isNull()) {
-                try {
-                    ZonedDateTime zdt = parseUpdatedAt(updated);
-                    s.setUpdatedAt(zdt);
-                } catch (Exception ignored) {
-                    // leave updatedAt null if parsing fails
-                }
-            }
+            if (stat.popularityScore() != null) s.setPopularityScore(stat.popularityScore());
+            if (stat.averageSalary() != null) s.setAverageSalary(stat.averageSalary());
+            if (stat.categoryKey() != null) s.setCategoryKey(stat.categoryKey());
+            if (stat.description() != null) s.setDescription(stat.description());
+            if (stat.updatedAt() != null) s.setUpdatedAt(stat.updatedAt());
         }
     }
 
-    private ZonedDateTime parseUpdatedAt(com.fasterxml.jackson.databind.JsonNode updated) {
-        if (updated.isNumber() || updated.asText().matches("\\d+(\\.\\d+)?")) {
-            long value = updated.isNumber()
-                    ? updated.longValue()
-                    : (long) Double.parseDouble(updated.asText());
-            return (value > 1_000_000_000_000L)
-                    ? Instant.ofEpochMilli(value).atZone(ZoneOffset.UTC)
-                    : Instant.ofEpochSecond(value).atZone(ZoneOffset.UTC);
+    // Counts the bytes read through it, for the bytes-decoded metric
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
         }
-        String text = updated.asText().trim();
-        try {
-            if (text.endsWith("Z") || text.contains("+") || text.contains("-")) {
-                return ZonedDateTime.parse(text);
-            } else {
-                LocalDateTime ldt = LocalDateTime.parse(text);
-                return ldt.atZone(ZoneOffset.UTC);
-            }
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Cannot parse updatedAt: " + text, e);
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        long getCount() {
+            return count;
         }
     }
 }
@@ -0,0 +1,50 @@
+package app.services;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Purpose: Tunables for ExternalStatsService. The running app reads them from system properties;
+ * tests build their own, e.g. to point at a local fake provider with short timeouts.
+ */
+@Getter
+@Builder
+public class ExternalStatsSettings {
+
+    public static final String DEFAULT_BASE = "https://apiprovider.cphbusinessapps.dk/api/v1/skills/stats?slugs=";
+
+    @Builder.Default
+    private String base = DEFAULT_BASE;
+    @Builder.Default
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    @Builder.Default
+    private Duration requestTimeout = Duration.ofSeconds(3);
+    @Builder.Default
+    private int maxConcurrentCalls = 8;
+    @Builder.Default
+    private int clientThreads = 8;             // HttpClient executor: response handling and parsing of received bodies
+    @Builder.Default
+    private int chunkSize = 50;                // slugs per provider call
+    @Builder.Default
+    private int chunkParallelism = 4;          // concurrent chunk calls per lookup; keep below maxConcurrentCalls
+    @Builder.Default
+    private int breakerFailureThreshold = 5;
+    @Builder.Default
+    private Duration breakerOpenDuration = Duration.ofSeconds(30);
+
+    public static ExternalStatsSettings fromSystemProperties() {
+        return ExternalStatsSettings.builder()
+                .base(System.getProperty("EXTERNAL_STATS_BASE", DEFAULT_BASE))
+                .connectTimeout(Duration.ofMillis(Long.getLong("EXTERNAL_STATS_CONNECT_TIMEOUT_MS", 2_000L)))
+                .requestTimeout(Duration.ofMillis(Long.getLong("EXTERNAL_STATS_REQUEST_TIMEOUT_MS", 3_000L)))
+                .maxConcurrentCalls(Integer.getInteger("EXTERNAL_STATS_MAX_CONCURRENT", 8))
+                .clientThreads(Integer.getInteger("EXTERNAL_STATS_CLIENT_THREADS", 8))
+                .chunkSize(Integer.getInteger("EXTERNAL_STATS_CHUNK_SIZE", 50))
+                .chunkParallelism(Integer.getInteger("EXTERNAL_STATS_CHUNK_PARALLELISM", 4))
+                .breakerFailureThreshold(Integer.getInteger("EXTERNAL_STATS_BREAKER_FAILURES", 5))
+                .breakerOpenDuration(Duration.ofMillis(Long.getLong("EXTERNAL_STATS_BREAKER_OPEN_MS", 30_000L)))
+                .build();
+    }
+}
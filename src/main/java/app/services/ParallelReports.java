@@ -0,0 +1,71 @@
+package app.services;
+
+import app.config.AsyncConfig;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Purpose: Scores a SkillLinkTable as a partitioned reduction on a ForkJoin pool. Row ranges larger than the threshold
+ * are split in two (on a candidate boundary), each half builds its own CandidateReport, and the halves are merged.
+ * The threshold (rows per leaf) is set with the system property REPORT_PARALLEL_THRESHOLD (default 20000);
+ * tables at or below it are scored on the calling thread.
+ */
+public class ParallelReports {
+
+    private static ParallelReports instance;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public static synchronized ParallelReports getInstance() {
+        if (instance == null) {
+            instance = new ParallelReports(AsyncConfig.getReportPool(), Integer.getInteger("REPORT_PARALLEL_THRESHOLD", 20_000));
+        }
+        return instance;
+    }
+
+    public ParallelReports(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) throw new IllegalArgumentException("threshold must be at least 1");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public CandidateReport compute(SkillLinkTable table, Map<String, SkillStats> statsBySlug, int n) {
+        if (table.size() <= threshold) return scan(table, statsBySlug, n, 0, table.size());
+        return pool.invoke(new Partition(table, statsBySlug, n, 0, table.size()));
+    }
+
+    private static CandidateReport scan(SkillLinkTable table, Map<String, SkillStats> statsBySlug, int n, int from, int to) {
+        CandidateReport report = new CandidateReport(statsBySlug, n);
+        table.scan(from, to, report);
+        return report.finish();
+    }
+
+    private class Partition extends RecursiveTask<CandidateReport> {
+        private final SkillLinkTable table;
+        private final Map<String, SkillStats> statsBySlug;
+        private final int n;
+        private final int from;
+        private final int to;
+
+        Partition(SkillLinkTable table, Map<String, SkillStats> statsBySlug, int n, int from, int to) {
+            this.table = table;
+            this.statsBySlug = statsBySlug;
+            this.n = n;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CandidateReport compute() {
+            int mid = to - from > threshold ? table.candidateStart(from + (to - from) / 2) : to;
+            if (mid >= to) return scan(table, statsBySlug, n, from, to); // small enough, or one candidate fills the range
+            Partition left = new Partition(table, statsBySlug, n, from, mid);
+            left.fork();
+            CandidateReport right = new Partition(table, statsBySlug, n, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
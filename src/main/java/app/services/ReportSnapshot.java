@@ -0,0 +1,54 @@
+package app.services;
+
+import app.dtos.PopularityScoreDTO;
+import app.enums.SkillCategory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Purpose: One immutable build of every report, served to all requests until the next build swaps in.
+ * version and lastModified only move when the content changes, so a rebuild with the same result keeps clients' ETags valid.
+ * Lists are kept at ReportSnapshotService.MAX_N entries; smaller n are prefixes of them.
+ *
+ * @param topByPopularity null when no candidate has a scored skill
+ */
+public record ReportSnapshot(long version,
+                             Instant lastModified,
+                             Instant builtAt,
+                             Duration buildDuration,
+                             PopularityScoreDTO topByPopularity,
+                             long candidatesWithSkills,
+                             List<CandidateReport.Scored> top,
+                             Map<SkillCategory, List<CandidateReport.Scored>> leaders,
+                             Map<String, Object> salaries) {
+
+    public ReportSnapshot {
+        top = List.copyOf(top);
+        leaders = leaders.isEmpty() ? Map.of() : Collections.unmodifiableMap(new EnumMap<>(leaders)); // keep category order
+        salaries = Collections.unmodifiableMap(salaries);
+    }
+
+    public Duration age() {
+        return Duration.between(builtAt, Instant.now());
+    }
+
+    public String etag() {
+        return "\"r" + version + "-" + Long.toHexString(lastModified.toEpochMilli()) + "\"";
+    }
+
+    // Same reports, ignoring when they were built
+    boolean sameContent(ReportSnapshot other) {
+        return other != null
+                && Objects.equals(topByPopularity, other.topByPopularity)
+                && candidatesWithSkills == other.candidatesWithSkills
+                && top.equals(other.top)
+                && leaders.equals(other.leaders)
+                && salaries.equals(other.salaries);
+    }
+}
@@ -0,0 +1,168 @@
+package app.services;
+
+import app.config.HibernateConfig;
+import app.daos.impl.CandidateDAO;
+import app.daos.impl.SkillDAO;
+import app.daos.impl.SkillStatsDAO;
+import app.dtos.PopularityScoreDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Purpose: Builds every report ahead of time and swaps the result in atomically, so report requests are served from memory.
+ * A rebuild runs after candidate/skill writes and new stats snapshots (bursts are coalesced for
+ * REPORT_SNAPSHOT_DEBOUNCE_MS, default 500) and every REPORT_SNAPSHOT_INTERVAL_SECONDS (default 60) as a backstop.
+ * Rebuilds after a change read the primary, since the replica may not have the write yet; scheduled ones read the replica.
+ */
+public class ReportSnapshotService {
+
+    // Lists are built at this size; requests for fewer entries take a prefix
+    public static final int MAX_N = 100;
+
+    private static ReportSnapshotService instance;
+    private static final Logger logger = LoggerFactory.getLogger(ReportSnapshotService.class);
+
+    private final Source<SkillLinkTable> linkSource;
+    private final Source<PopularityScoreDTO> topByPopularitySource;
+    private final Supplier<StatsSnapshot> stats;
+    private final ParallelReports reports;
+    private final Duration interval;
+    private final Duration debounce;
+
+    private final AtomicReference<ReportSnapshot> current = new AtomicReference<>();
+    // completes with the first snapshot; requests that arrive before it wait on this
+    private final AtomicReference<CompletableFuture<ReportSnapshot>> firstBuild = new AtomicReference<>(new CompletableFuture<>());
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    // one thread, so builds never overlap
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "report-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong unchangedBuilds = new AtomicLong();
+    private final AtomicLong buildFailures = new AtomicLong();
+    private volatile String lastError;
+
+    public static synchronized ReportSnapshotService getInstance() {
+        if (instance == null) {
+            var emf = HibernateConfig.getEntityManagerFactory();
+            var readEmf = HibernateConfig.getReadEntityManagerFactory();
+            CandidateDAO candidateDao = CandidateDAO.getInstance(emf, readEmf);
+            StatsSnapshotService snapshots = StatsSnapshotService.getInstance();
+            instance = new ReportSnapshotService(primary -> {
+                SkillLinkTable table = new SkillLinkTable();
+                candidateDao.forEachSkillLink(primary, table::add);
+                return table;
+            }, SkillStatsDAO.getInstance(emf, readEmf)::readTopByPopularity, snapshots::current, ParallelReports.getInstance(),
+                    Duration.ofSeconds(Long.getLong("REPORT_SNAPSHOT_INTERVAL_SECONDS", 60L)),
+                    Duration.ofMillis(Long.getLong("REPORT_SNAPSHOT_DEBOUNCE_MS", 500L)));
+            // reports cover every candidate, so the changed ids don't narrow the rebuild
+            candidateDao.addChangeListener(ids -> instance.markChanged());
+            SkillDAO.getInstance(emf, readEmf).addChangeListener(ids -> instance.markChanged());
+            snapshots.addListener(snapshot -> instance.markChanged()); // runs after skill_stats has been saved
+        }
+        return instance;
+    }
+
+    // Reads one input of a build; primary = read the primary database instead of the replica
+    @FunctionalInterface
+    public interface Source<T> {
+        T read(boolean primary);
+    }
+
+    public ReportSnapshotService(Source<SkillLinkTable> linkSource, Source<PopularityScoreDTO> topByPopularitySource,
+                                 Supplier<StatsSnapshot> stats, ParallelReports reports, Duration interval, Duration debounce) {
+        this.linkSource = linkSource;
+        this.topByPopularitySource = topByPopularitySource;
+        this.stats = stats;
+        this.reports = reports;
+        this.interval = interval;
+        this.debounce = debounce;
+    }
+
+    // Builds right away, then every interval. Calling it again does nothing
+    public void start() {
+        if (!started.compareAndSet(false, true)) return;
+        scheduler.scheduleWithFixedDelay(() -> rebuild(false), 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // The current snapshot, or the first one once it is built
+    public CompletableFuture<ReportSnapshot> current() {
+        ReportSnapshot snapshot = current.get();
+        return snapshot != null ? CompletableFuture.completedFuture(snapshot) : firstBuild.get();
+    }
+
+    // The data behind the reports changed: rebuild after the debounce, once for the whole burst
+    public void markChanged() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            scheduler.schedule(() -> rebuild(true), debounce.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild(boolean primary) {
+        rebuildPending.set(false); // changes from here on need another build
+        long start = System.nanoTime();
+        try {
+            SkillLinkTable table = linkSource.read(primary);
+            CandidateReport report = reports.compute(table, stats.get().statsBySlug(), MAX_N);
+            PopularityScoreDTO topByPopularity = topByPopularitySource.read(primary);
+            Instant builtAt = Instant.now();
+            Duration took = Duration.ofNanos(System.nanoTime() - start);
+
+            ReportSnapshot previous = current.get();
+            ReportSnapshot next = new ReportSnapshot(previous == null ? 1 : previous.version() + 1, builtAt, builtAt, took,
+                    topByPopularity, report.candidates(), report.top(), report.leaders(), report.salaryDistribution());
+            if (next.sameContent(previous)) {
+                // keep version and Last-Modified, so clients' cached copies stay valid
+                next = new ReportSnapshot(previous.version(), previous.lastModified(), builtAt, took, previous.topByPopularity(),
+                        previous.candidatesWithSkills(), previous.top(), previous.leaders(), previous.salaries());
+                unchangedBuilds.incrementAndGet();
+            }
+            current.set(next);
+            builds.incrementAndGet();
+            lastError = null;
+            if (previous == null) firstBuild.get().complete(next);
+        } catch (RuntimeException e) {
+            // keep serving the previous snapshot
+            buildFailures.incrementAndGet();
+            lastError = e.getMessage();
+            logger.warn("Report snapshot build failed: {}", e.getMessage());
+            if (current.get() == null) {
+                // fail the waiting requests; later ones wait for the next attempt
+                firstBuild.getAndSet(new CompletableFuture<>()).completeExceptionally(e);
+            }
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        ReportSnapshot snapshot = current.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", snapshot == null ? null : snapshot.version());
+        result.put("builtAt", snapshot == null ? null : snapshot.builtAt().toString());
+        result.put("lastModified", snapshot == null ? null : snapshot.lastModified().toString());
+        result.put("ageMs", snapshot == null ? null : snapshot.age().toMillis());
+        result.put("buildDurationMs", snapshot == null ? null : snapshot.buildDuration().toMillis());
+        result.put("intervalSeconds", interval.toSeconds());
+        result.put("builds", builds.get());
+        result.put("unchangedBuilds", unchangedBuilds.get());
+        result.put("buildFailures", buildFailures.get());
+        result.put("lastError", lastError);
+        return result;
+    }
+}
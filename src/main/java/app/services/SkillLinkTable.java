@@ -0,0 +1,54 @@
+package app.services;
+
+import app.enums.SkillCategory;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: The candidate/skill links read for a report, kept in parallel arrays (one row per link, grouped by candidate)
+ * so the report can be split into row ranges and scored on several threads after a single read.
+ */
+public class SkillLinkTable {
+
+    private int size;
+    private int[] candidateIds = new int[1024];
+    private String[] names = new String[1024];
+    private SkillCategory[] categories = new SkillCategory[1024];
+    private String[] slugs = new String[1024];
+
+    // Matches CandidateDAO.SkillLinkConsumer
+    public void add(int candidateId, String candidateName, SkillCategory category, String slug) {
+        if (size == candidateIds.length) grow();
+        // rows of one candidate share the name instance
+        names[size] = size > 0 && candidateIds[size - 1] == candidateId ? names[size - 1] : candidateName;
+        candidateIds[size] = candidateId;
+        categories[size] = category;
+        slugs[size] = slug;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = candidateIds.length * 2;
+        candidateIds = Arrays.copyOf(candidateIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        slugs = Arrays.copyOf(slugs, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Feeds rows [from, to) into the report
+    public void scan(int from, int to, CandidateReport report) {
+        for (int i = from; i < to; i++) {
+            report.accept(candidateIds[i], names[i], categories[i], slugs[i]);
+        }
+    }
+
+    // The first row at or after index that starts a new candidate, so a split never cuts a candidate in two
+    public int candidateStart(int index) {
+        while (index > 0 && index < size && candidateIds[index] == candidateIds[index - 1]) index++;
+        return index;
+    }
+}
@@ -0,0 +1,15 @@
+package app.services;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Purpose: Stats the external provider has for one skill, parsed once when fetched and cached as is.
+ * Fields the provider left out or sent as null are null.
+ */
+public record SkillStats(String slug,
+                         Integer popularityScore,
+                         Integer averageSalary,
+                         String categoryKey,
+                         String description,
+                         ZonedDateTime updatedAt) {
+}
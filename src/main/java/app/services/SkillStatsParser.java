@@ -0,0 +1,117 @@
+package app.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Purpose: Streaming parser for the provider's {"data": [ ... ]} response.
+ * Reads tokens straight off the response stream into SkillStats, without a String body or JsonNode tree.
+ */
+public class SkillStatsParser {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    /**
+     * Stats per lower-case slug, or null when the body has no "data" array.
+     */
+    public Map<String, SkillStats> parse(InputStream in) throws IOException {
+        try (JsonParser p = factory.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+
+            Map<String, SkillStats> result = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    result = new HashMap<>();
+                    JsonToken item;
+                    while ((item = p.nextToken()) != JsonToken.END_ARRAY) {
+                        if (item != JsonToken.START_OBJECT) {
+                            p.skipChildren();
+                            continue;
+                        }
+                        SkillStats stats = readItem(p);
+                        if (stats != null) result.put(stats.slug(), stats);
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return result;
+        }
+    }
+
+    private SkillStats readItem(JsonParser p) throws IOException {
+        String slug = null, categoryKey = null, description = null;
+        Integer popularityScore = null, averageSalary = null;
+        ZonedDateTime updatedAt = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL) continue;
+            if (value.isStructStart()) {
+                p.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "slug" -> slug = p.getText();
+                case "popularityScore" -> popularityScore = p.getValueAsInt();
+                case "averageSalary" -> averageSalary = p.getValueAsInt();
+                case "categoryKey" -> categoryKey = p.getText();
+                case "description" -> description = p.getText();
+                case "updatedAt" -> updatedAt = parseUpdatedAt(p, value);
+                default -> { } // field we don't use
+            }
+        }
+        if (slug == null || slug.isBlank()) return null;
+        return new SkillStats(slug.toLowerCase(), popularityScore, averageSalary, categoryKey, description, updatedAt);
+    }
+
+    // Epoch seconds/millis (number or numeric string) or ISO date-time with or without zone; null if unparseable
+    static ZonedDateTime parseUpdatedAt(JsonParser p, JsonToken value) throws IOException {
+        if (value.isNumeric()) return fromEpoch(p.getValueAsLong());
+
+        String text = p.getText().trim();
+        if (isNumber(text)) return fromEpoch((long) Double.parseDouble(text));
+        try {
+            TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, ZonedDateTime::from, LocalDateTime::from);
+            return parsed instanceof ZonedDateTime zdt ? zdt : ((LocalDateTime) parsed).atZone(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static ZonedDateTime fromEpoch(long value) {
+        return (value > 1_000_000_000_000L)
+                ? Instant.ofEpochMilli(value).atZone(ZoneOffset.UTC)
+                : Instant.ofEpochSecond(value).atZone(ZoneOffset.UTC);
+    }
+
+    // Same as matching \d+(\.\d+)? but without a regex
+    private static boolean isNumber(String text) {
+        int dot = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && dot < 0 && i > 0) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !text.isEmpty() && dot != text.length() - 1;
+    }
+}
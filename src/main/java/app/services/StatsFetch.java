@@ -0,0 +1,16 @@
+package app.services;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Purpose: Result of fetching a set of slugs from the stats provider. Slugs the provider answered without stats are in
+ * neither part; failedSlugs are the ones whose call failed or was refused, so the caller can fall back to older values.
+ */
+public record StatsFetch(Map<String, SkillStats> statsBySlug, Set<String> failedSlugs) {
+
+    public StatsFetch {
+        statsBySlug = Map.copyOf(statsBySlug);
+        failedSlugs = Set.copyOf(failedSlugs);
+    }
+}
@@ -0,0 +1,36 @@
+package app.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Purpose: Immutable view of the external stats for the whole skill catalogue, as of one refresh.
+ * Request handlers read from the current snapshot instead of calling the provider.
+ * carriedOver holds the slugs whose stats were kept from an earlier snapshot because their call failed,
+ * with the time they were actually fetched.
+ */
+public record StatsSnapshot(Map<String, SkillStats> statsBySlug, int slugCount, Instant takenAt, Duration refreshDuration,
+                            Map<String, Instant> carriedOver) {
+
+    public static final StatsSnapshot EMPTY = new StatsSnapshot(Map.of(), 0, Instant.EPOCH, Duration.ZERO);
+
+    public StatsSnapshot {
+        statsBySlug = Map.copyOf(statsBySlug);
+        carriedOver = Map.copyOf(carriedOver);
+    }
+
+    // Every slug fetched in this refresh
+    public StatsSnapshot(Map<String, SkillStats> statsBySlug, int slugCount, Instant takenAt, Duration refreshDuration) {
+        this(statsBySlug, slugCount, takenAt, refreshDuration, Map.of());
+    }
+
+    public Duration age() {
+        return Duration.between(takenAt, Instant.now());
+    }
+
+    // When the provider delivered this slug's stats
+    public Instant fetchedAt(String slug) {
+        return carriedOver.getOrDefault(slug, takenAt);
+    }
+}
@@ -0,0 +1,197 @@
+package app.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Purpose: Persists the stats snapshot in a compact binary file, so a restarted or newly started process on the same host
+ * starts with enriched responses instead of an empty snapshot. The file is read through a MappedByteBuffer.
+ * The header records which provider the stats came from (a CRC32 of its base URL), so a process pointed at another
+ * provider, e.g. a test against the fake one, never picks up the file.
+ *
+ * Layout (big-endian):
+ * header  magic "SKST" (int), version (int), source CRC32 (long), takenAt epoch millis (long), refresh duration nanos (long),
+ *         slug count (int), entry count (int), payload length (int), payload CRC32 (long)
+ * payload per entry: slug, popularityScore, averageSalary, categoryKey, description, updatedAt, carried-over fetch time
+ *         strings are an int byte length (-1 = null) plus UTF-8 bytes, ints use Integer.MIN_VALUE for null,
+ *         updatedAt is epoch seconds (Long.MIN_VALUE = null), nanos and a zone id string,
+ *         the fetch time is epoch millis (Long.MIN_VALUE = fetched at takenAt).
+ * Files with another magic, version, source, length or checksum are ignored.
+ */
+public class StatsSnapshotFile {
+
+    static final int MAGIC = 0x534B5354; // "SKST"
+    static final int VERSION = 3;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4 + 4 + 4 + 8;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final Logger logger = LoggerFactory.getLogger(StatsSnapshotFile.class);
+
+    private final Path path;
+    private final long source;
+
+    // source identifies the provider, e.g. its base URL
+    public StatsSnapshotFile(Path path, String source) {
+        this.path = path;
+        this.source = checksum(source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Writes to a temp file next to the target and moves it into place, so readers in other processes
+     * never map a half-written file.
+     */
+    public void write(StatsSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (SkillStats stats : snapshot.statsBySlug().values()) {
+            writeString(out, stats.slug());
+            out.writeInt(stats.popularityScore() == null ? NULL_INT : stats.popularityScore());
+            out.writeInt(stats.averageSalary() == null ? NULL_INT : stats.averageSalary());
+            writeString(out, stats.categoryKey());
+            writeString(out, stats.description());
+            ZonedDateTime updatedAt = stats.updatedAt();
+            out.writeLong(updatedAt == null ? NULL_LONG : updatedAt.toEpochSecond());
+            out.writeInt(updatedAt == null ? 0 : updatedAt.getNano());
+            writeString(out, updatedAt == null ? null : updatedAt.getZone().getId());
+            Instant carriedFrom = snapshot.carriedOver().get(stats.slug());
+            out.writeLong(carriedFrom == null ? NULL_LONG : carriedFrom.toEpochMilli());
+        }
+        out.flush();
+        byte[] payload = bytes.toByteArray();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(source)
+                .putLong(snapshot.takenAt().toEpochMilli())
+                .putLong(snapshot.refreshDuration().toNanos())
+                .putInt(snapshot.slugCount())
+                .putInt(snapshot.statsBySlug().size())
+                .putInt(payload.length)
+                .putLong(checksum(payload))
+                .flip();
+
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, body});
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * The snapshot stored in the file, or null when there is no file or it is not a valid snapshot.
+     */
+    public StatsSnapshot read() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) return invalid("file is too short");
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buf.getInt() != MAGIC) return invalid("not a stats snapshot");
+            int version = buf.getInt();
+            if (version != VERSION) return invalid("unsupported version " + version);
+            if (buf.getLong() != source) return invalid("written for another stats provider");
+            Instant takenAt = Instant.ofEpochMilli(buf.getLong());
+            Duration refreshDuration = Duration.ofNanos(buf.getLong());
+            int slugCount = buf.getInt();
+            int entries = buf.getInt();
+            int payloadLength = buf.getInt();
+            long checksum = buf.getLong();
+            if (payloadLength != size - HEADER_BYTES) return invalid("payload length mismatch");
+
+            CRC32 crc = new CRC32();
+            crc.update(buf.slice()); // consumes the slice only; buf stays at the start of the payload
+            if (crc.getValue() != checksum) return invalid("checksum mismatch");
+
+            Map<String, SkillStats> statsBySlug = new HashMap<>(entries * 2);
+            Map<String, Instant> carriedOver = new HashMap<>();
+            for (int i = 0; i < entries; i++) {
+                String slug = readString(buf);
+                int popularity = buf.getInt();
+                int salary = buf.getInt();
+                String categoryKey = readString(buf);
+                String description = readString(buf);
+                long epochSecond = buf.getLong();
+                int nanos = buf.getInt();
+                String zone = readString(buf);
+                ZonedDateTime updatedAt = epochSecond == NULL_LONG ? null
+                        : Instant.ofEpochSecond(epochSecond, nanos).atZone(ZoneId.of(zone));
+                statsBySlug.put(slug, new SkillStats(slug,
+                        popularity == NULL_INT ? null : popularity,
+                        salary == NULL_INT ? null : salary,
+                        categoryKey, description, updatedAt));
+                long carriedFrom = buf.getLong();
+                if (carriedFrom != NULL_LONG) carriedOver.put(slug, Instant.ofEpochMilli(carriedFrom));
+            }
+            return new StatsSnapshot(statsBySlug, slugCount, takenAt, refreshDuration, carriedOver);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return invalid(e.toString());
+        }
+    }
+
+    private StatsSnapshot invalid(String reason) {
+        logger.warn("Ignoring stats snapshot file {}: {}", path, reason);
+        return null;
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) return null;
+        byte[] utf8 = new byte[length];
+        buf.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,206 @@
+package app.services;
+
+import app.config.HibernateConfig;
+import app.daos.impl.SkillDAO;
+import app.daos.impl.SkillStatsDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Purpose: Keeps a snapshot of the external stats for every skill in the catalogue.
+ * A scheduled job loads all slugs, fetches their stats in bulk and swaps in a new immutable snapshot,
+ * so the request path never waits on the provider. The interval is set with the system property
+ * EXTERNAL_STATS_SNAPSHOT_INTERVAL_SECONDS (default 300).
+ * Each snapshot is also written to EXTERNAL_STATS_SNAPSHOT_FILE (default: skill-stats.bin in the temp dir), so
+ * processes on the same host that use the same provider start from it and skip the provider while another keeps it fresh.
+ * Every snapshot that gets swapped in is also stored in the skill_stats table.
+ */
+public class StatsSnapshotService {
+
+    private static StatsSnapshotService instance;
+    private static final Logger logger = LoggerFactory.getLogger(StatsSnapshotService.class);
+
+    private final Supplier<Set<String>> slugSource;
+    private final ExternalStatsService statsService;
+    private final Duration interval;
+    private final StatsSnapshotFile file; // null = don't persist
+    private final AtomicReference<StatsSnapshot> current = new AtomicReference<>(StatsSnapshot.EMPTY);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final List<Consumer<StatsSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    // one thread, so scheduled and manual refreshes never overlap
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "stats-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong loadedFromFile = new AtomicLong();
+    private volatile int lastFailedSlugs; // slugs the last refresh kept from the previous snapshot
+    private volatile String lastError;
+
+    public static synchronized StatsSnapshotService getInstance() {
+        if (instance == null) {
+            SkillDAO skillDao = SkillDAO.getInstance(HibernateConfig.getEntityManagerFactory(), HibernateConfig.getReadEntityManagerFactory());
+            Path file = Path.of(System.getProperty("EXTERNAL_STATS_SNAPSHOT_FILE",
+                    Path.of(System.getProperty("java.io.tmpdir"), "skill-stats.bin").toString()));
+            instance = new StatsSnapshotService(skillDao::readAllSlugs, ExternalStatsService.getInstance(),
+                    Duration.ofSeconds(Long.getLong("EXTERNAL_STATS_SNAPSHOT_INTERVAL_SECONDS", 300L)),
+                    new StatsSnapshotFile(file, ExternalStatsSettings.fromSystemProperties().getBase()));
+            // keep skill_stats in step for the SQL reports
+            instance.addListener(SkillStatsDAO.getInstance(HibernateConfig.getEntityManagerFactory(),
+                    HibernateConfig.getReadEntityManagerFactory())::save);
+        }
+        return instance;
+    }
+
+    public StatsSnapshotService(Supplier<Set<String>> slugSource, ExternalStatsService statsService, Duration interval,
+                                StatsSnapshotFile file) {
+        this.slugSource = slugSource;
+        this.statsService = statsService;
+        this.interval = interval;
+        this.file = file;
+    }
+
+    /**
+     * Starts from the snapshot file when there is a valid one, then refreshes every interval; the first refresh
+     * is due when the file's snapshot gets older than the interval. Calling it again does nothing.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) return;
+        long firstDelayMs = 0;
+        StatsSnapshot onDisk = file == null ? null : file.read();
+        if (onDisk != null) {
+            publish(onDisk);
+            loadedFromFile.incrementAndGet();
+            firstDelayMs = Math.max(0, interval.minus(onDisk.age()).toMillis());
+            logger.info("Loaded stats snapshot for {} skills from {}", onDisk.statsBySlug().size(), file.getPath());
+        }
+        scheduler.scheduleWithFixedDelay(() -> refresh(false), firstDelayMs, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public StatsSnapshot current() {
+        return current.get();
+    }
+
+    // Called on the snapshot thread with every snapshot that gets swapped in
+    public void addListener(Consumer<StatsSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    private void publish(StatsSnapshot snapshot) {
+        current.set(snapshot);
+        for (Consumer<StatsSnapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                logger.warn("Stats snapshot listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Manual refresh (admin route); completes with the new snapshot, or the old one if the refresh failed
+    public CompletableFuture<StatsSnapshot> refreshNow() {
+        return CompletableFuture.supplyAsync(() -> {
+            refresh(true);
+            return current.get();
+        }, scheduler);
+    }
+
+    /**
+     * force = always ask the provider, even if another process just wrote a fresh file.
+     * Slugs whose chunk failed keep their stats from the current snapshot, so provider errors never shrink it;
+     * when every chunk failed nothing is published or saved.
+     */
+    void refresh(boolean force) {
+        if (!force && adoptNewerFile()) return;
+        long start = System.nanoTime();
+        try {
+            Set<String> slugs = slugSource.get();
+            StatsFetch fetched = statsService.fetchAll(slugs).join();
+            lastFailedSlugs = fetched.failedSlugs().size();
+            if (!slugs.isEmpty() && fetched.failedSlugs().size() == slugs.size()) {
+                throw new IllegalStateException("stats provider failed for all " + slugs.size() + " slugs");
+            }
+            Map<String, SkillStats> stats = new HashMap<>(fetched.statsBySlug());
+            Map<String, Instant> carriedOver = new HashMap<>();
+            StatsSnapshot previous = current.get();
+            for (String slug : fetched.failedSlugs()) {
+                SkillStats lastKnown = previous.statsBySlug().get(slug);
+                if (lastKnown == null) continue;
+                stats.put(slug, lastKnown);
+                carriedOver.put(slug, previous.fetchedAt(slug)); // still as old as when it was fetched
+            }
+            Duration took = Duration.ofNanos(System.nanoTime() - start);
+            StatsSnapshot snapshot = new StatsSnapshot(stats, slugs.size(), Instant.now(), took, carriedOver);
+            publish(snapshot);
+            refreshes.incrementAndGet();
+            lastError = null;
+            save(snapshot);
+        } catch (RuntimeException e) {
+            // keep serving the previous snapshot
+            refreshFailures.incrementAndGet();
+            lastError = e.getMessage();
+            logger.warn("Stats snapshot refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Another process on the host refreshed the file within the interval: use its snapshot instead of calling the provider
+    private boolean adoptNewerFile() {
+        if (file == null) return false;
+        StatsSnapshot onDisk = file.read();
+        if (onDisk == null || !onDisk.takenAt().isAfter(current.get().takenAt())) return false;
+        if (onDisk.age().compareTo(interval) >= 0) return false;
+        publish(onDisk);
+        loadedFromFile.incrementAndGet();
+        return true;
+    }
+
+    private void save(StatsSnapshot snapshot) {
+        if (file == null) return;
+        try {
+            file.write(snapshot);
+        } catch (IOException e) {
+            logger.warn("Could not write stats snapshot to {}: {}", file.getPath(), e.getMessage());
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        StatsSnapshot snapshot = current.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("takenAt", snapshot == StatsSnapshot.EMPTY ? null : snapshot.takenAt().toString());
+        result.put("ageMs", snapshot == StatsSnapshot.EMPTY ? null : snapshot.age().toMillis());
+        result.put("refreshDurationMs", snapshot.refreshDuration().toMillis());
+        result.put("slugs", snapshot.slugCount());
+        result.put("slugsWithStats", snapshot.statsBySlug().size());
+        result.put("intervalSeconds", interval.toSeconds());
+        result.put("refreshes", refreshes.get());
+        result.put("refreshFailures", refreshFailures.get());
+        result.put("lastFailedSlugs", lastFailedSlugs);
+        result.put("loadedFromFile", loadedFromFile.get());
+        result.put("file", file == null ? null : file.getPath().toString());
+        result.put("lastError", lastError);
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package app.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Purpose: Lock-free latency recorder for metrics endpoints.
+ * Keeps the most recent samples in a fixed ring buffer, so percentiles describe recent behaviour and memory stays constant.
+ */
+public class LatencyRecorder {
+
+    private static final int DEFAULT_CAPACITY = 2048;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    public void recordNanos(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % samples.length()), nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Count, max and p50/p95/p99 in milliseconds over the retained samples.
+     */
+    public Map<String, Object> snapshotMillis() {
+        int size = (int) Math.min(count.get(), samples.length());
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count.get());
+        result.put("p50Ms", percentileMillis(copy, 0.50));
+        result.put("p95Ms", percentileMillis(copy, 0.95));
+        result.put("p99Ms", percentileMillis(copy, 0.99));
+        result.put("maxMs", max.get() / 1_000_000.0);
+        return result;
+    }
+
+    private static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1_000_000.0;
+    }
+}
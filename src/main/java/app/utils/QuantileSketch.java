@@ -0,0 +1,97 @@
+package app.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Purpose: Streaming quantiles with a fixed relative error (a DDSketch-style log-bucket histogram).
+ * Each value is counted in the bucket [gamma^(i-1), gamma^i), so any quantile is off by at most the relative
+ * accuracy, memory grows with the log of the value range instead of the number of values, and two sketches
+ * merge by adding their bucket counts. Values of zero or below share one bucket.
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1)
+            throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1");
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (value > 0) {
+            buckets.merge((int) Math.ceil(Math.log(value) / logGamma), 1L, Long::sum);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy)
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        other.buckets.forEach((index, n) -> buckets.merge(index, n, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Value at quantile q (0..1), within the relative accuracy; NaN when empty
+    public double quantile(double q) {
+        if (count == 0) return Double.NaN;
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) return Math.max(min, 0);
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                // middle of the bucket in relative terms, so the error is the same either side
+                double estimate = 2 * Math.pow(gamma, bucket.getKey()) / (gamma + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Count, min, p50/p75/p90/p95/p99 and max, rounded to whole units; empty sketches only report the count.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count);
+        if (count == 0) return result;
+        result.put("min", Math.round(min));
+        result.put("p50", Math.round(quantile(0.50)));
+        result.put("p75", Math.round(quantile(0.75)));
+        result.put("p90", Math.round(quantile(0.90)));
+        result.put("p95", Math.round(quantile(0.95)));
+        result.put("p99", Math.round(quantile(0.99)));
+        result.put("max", Math.round(max));
+        return result;
+    }
+}
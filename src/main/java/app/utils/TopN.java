@@ -0,0 +1,49 @@
+package app.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Purpose: Keeps the n best items seen so far in a bounded heap, so a top-n costs O(items * log n) and O(n) memory
+ * instead of sorting everything. Two instances over different parts of the data can be merged.
+ */
+public class TopN<T> {
+
+    private final int n;
+    private final Comparator<? super T> bestFirst;
+    private final PriorityQueue<T> heap; // the worst kept item sits at the head, ready to be replaced
+
+    public TopN(int n, Comparator<? super T> bestFirst) {
+        if (n < 1) throw new IllegalArgumentException("n must be at least 1");
+        this.n = n;
+        this.bestFirst = bestFirst;
+        this.heap = new PriorityQueue<>(n + 1, bestFirst.reversed());
+    }
+
+    public void offer(T item) {
+        if (heap.size() < n) {
+            heap.add(item);
+        } else if (bestFirst.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    public TopN<T> merge(TopN<T> other) {
+        other.heap.forEach(this::offer);
+        return this;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    // The kept items, best first
+    public List<T> toList() {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(bestFirst);
+        return items;
+    }
+}
@@ -41,6 +41,19 @@ public class Utils {
         }
     }
 
+    // Same as above, but returns defaultValue instead of failing when the property is not in the file
+    public static String getPropertyValue(String propName, String resourceName, String defaultValue) {
+        try (InputStream is = Utils.class.getClassLoader().getResourceAsStream(resourceName)) {
+            if (is == null) return defaultValue;
+            Properties prop = new Properties();
+            prop.load(is);
+            String value = prop.getProperty(propName);
+            return value != null ? value.trim() : defaultValue;
+        } catch (IOException ex) {
+            return defaultValue;
+        }
+    }
+
     public ObjectMapper getObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // Ignore unknown properties in JSON
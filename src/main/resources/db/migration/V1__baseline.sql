@@ -0,0 +1,56 @@
+-- Baseline schema, matching the entity mappings (previously generated by hbm2ddl create)
+
+create sequence candidates_seq start with 1 increment by 50;
+create sequence candidate_skills_seq start with 1 increment by 50;
+
+create table candidates (
+    id integer not null,
+    education varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table skills (
+    id integer generated by default as identity,
+    category varchar(255) check (category in ('PROG_LANG', 'DB', 'DEVOPS', 'FRONTEND', 'TESTING', 'DATA', 'FRAMEWORK')),
+    description varchar(255),
+    name varchar(255) not null,
+    slug varchar(255) not null,
+    primary key (id)
+);
+
+create table candidate_skills (
+    id integer not null,
+    candidate_id integer not null,
+    skill_id integer not null,
+    primary key (id),
+    constraint uk_candidate_skills_candidate_skill unique (candidate_id, skill_id)
+);
+
+alter table candidate_skills
+    add constraint fk_candidate_skills_candidate foreign key (candidate_id) references candidates;
+alter table candidate_skills
+    add constraint fk_candidate_skills_skill foreign key (skill_id) references skills;
+
+create table roles (
+    name varchar(20) not null,
+    primary key (name)
+);
+
+create table users (
+    username varchar(25) not null,
+    password varchar(255) not null,
+    primary key (username)
+);
+
+create table user_roles (
+    user_name varchar(25) not null,
+    role_name varchar(20) not null,
+    primary key (user_name, role_name)
+);
+
+alter table user_roles
+    add constraint fk_user_roles_user foreign key (user_name) references users;
+alter table user_roles
+    add constraint fk_user_roles_role foreign key (role_name) references roles;
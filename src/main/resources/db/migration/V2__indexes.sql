@@ -0,0 +1,6 @@
+-- Secondary indexes for the join and filter queries.
+-- candidate_skills(candidate_id) is already covered by the (candidate_id, skill_id) unique constraint.
+
+create index idx_skills_slug on skills (slug);
+create index idx_skills_category on skills (category);
+create index idx_candidate_skills_skill_id on candidate_skills (skill_id);
@@ -0,0 +1,12 @@
+-- External skill stats per (lower-case) slug, upserted from every stats snapshot so reports can aggregate in SQL.
+
+create table skill_stats (
+    slug varchar(255) not null,
+    popularity_score integer,
+    average_salary integer,
+    category_key varchar(255),
+    description varchar(1000),
+    updated_at timestamp(6) with time zone,
+    fetched_at timestamp(6) with time zone not null,
+    primary key (slug)
+);
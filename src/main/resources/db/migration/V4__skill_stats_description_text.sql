@@ -0,0 +1,3 @@
+-- Provider descriptions have no length limit; varchar(1000) made the whole snapshot upsert fail on a long one.
+
+alter table skill_stats alter column description type text;
@@ -0,0 +1,86 @@
+package app.benchmarks;
+
+import app.enums.SkillCategory;
+import app.services.CandidateReport;
+import app.services.ParallelReports;
+import app.services.SkillLinkTable;
+import app.services.SkillStats;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purpose: Report scoring time over a synthetic SkillLinkTable (about 4 skills per candidate, 2000 skill slugs)
+ * for several dataset sizes and ForkJoin pool sizes. parallelism = 1 is the sequential baseline: the table
+ * is scanned on the calling thread. Run the main method; results are in milliseconds per report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportComputationBenchmark {
+
+    private static final int SLUGS = 2000;
+
+    @Param({"10000", "100000", "500000"})
+    private int candidates;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"20000"})
+    private int threshold;
+
+    private SkillLinkTable table;
+    private Map<String, SkillStats> statsBySlug;
+    private ForkJoinPool pool;
+    private ParallelReports reports;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        statsBySlug = new HashMap<>();
+        for (int i = 0; i < SLUGS; i++) {
+            statsBySlug.put("skill-" + i, new SkillStats("skill-" + i, random.nextInt(100),
+                    30_000 + random.nextInt(90_000), null, null, null));
+        }
+        SkillCategory[] categories = SkillCategory.values();
+        table = new SkillLinkTable();
+        for (int id = 1; id <= candidates; id++) {
+            int skills = 1 + random.nextInt(7);
+            String name = "Candidate " + id;
+            for (int k = 0; k < skills; k++) {
+                int skill = random.nextInt(SLUGS);
+                table.add(id, name, categories[skill % categories.length], "skill-" + skill);
+            }
+        }
+        pool = new ForkJoinPool(parallelism);
+        // one leaf for the whole table when sequential, so the baseline has no split/merge overhead
+        reports = new ParallelReports(pool, parallelism == 1 ? Integer.MAX_VALUE : threshold);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CandidateReport report() {
+        return reports.compute(table, statsBySlug, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportComputationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
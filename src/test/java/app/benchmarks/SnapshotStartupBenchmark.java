@@ -0,0 +1,84 @@
+package app.benchmarks;
+
+import app.services.ExternalStatsService;
+import app.services.ExternalStatsSettings;
+import app.services.FakeStatsProvider;
+import app.services.SkillStats;
+import app.services.StatsSnapshot;
+import app.services.StatsSnapshotFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Purpose: Time from process start until enriched responses are possible: mapping the snapshot file
+ * versus fetching the whole catalogue from a (local, fake) provider with 50 ms latency per call.
+ * Each measurement starts cold, with a new service/file reader. Run the main method; results are in milliseconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SnapshotStartupBenchmark {
+
+    private static final long PROVIDER_LATENCY_MS = 50;
+
+    @Param({"500"})
+    private int skills;
+
+    private FakeStatsProvider provider;
+    private Set<String> slugs;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        slugs = IntStream.range(0, skills).mapToObj(i -> "skill-" + i).collect(Collectors.toSet());
+
+        provider = new FakeStatsProvider().latency(FakeStatsProvider.Latency.fixed(PROVIDER_LATENCY_MS));
+
+        // the file a previous process would have left behind
+        file = Files.createTempFile("skill-stats", ".bin");
+        Map<String, SkillStats> stats = newService().fetchAll(slugs).join().statsBySlug();
+        new StatsSnapshotFile(file, provider.baseUrl()).write(new StatsSnapshot(stats, slugs.size(), Instant.now(), Duration.ZERO));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        provider.close();
+        Files.deleteIfExists(file);
+    }
+
+    private ExternalStatsService newService() {
+        return new ExternalStatsService(ExternalStatsSettings.builder()
+                .base(provider.baseUrl())
+                .build());
+    }
+
+    @Benchmark
+    public Map<String, SkillStats> coldFetchFromProvider() {
+        return newService().fetchAll(slugs).join().statsBySlug();
+    }
+
+    @Benchmark
+    public StatsSnapshot loadSnapshotFile() {
+        return new StatsSnapshotFile(file, provider.baseUrl()).read();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SnapshotStartupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
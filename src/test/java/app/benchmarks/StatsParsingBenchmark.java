@@ -0,0 +1,112 @@
+package app.benchmarks;
+
+import app.dtos.SkillRefDTO;
+import app.services.ExternalStatsService;
+import app.services.ExternalStatsSettings;
+import app.services.SkillStats;
+import app.services.SkillStatsParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purpose: Compares the old stats path (String body, JsonNode tree, regex timestamp check during enrichment)
+ * with the streaming SkillStatsParser. Both parse one provider response and enrich one SkillRefDTO per skill.
+ * Run the main method; results are in microseconds per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsParsingBenchmark {
+
+    @Param({"50", "500"})
+    private int skills;
+
+    private byte[] body;
+    private List<SkillRefDTO> refs;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SkillStatsParser parser = new SkillStatsParser();
+    private final ExternalStatsService service = new ExternalStatsService(ExternalStatsSettings.builder().build());
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        refs = new ArrayList<>();
+        for (int i = 0; i < skills; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"slug\":\"skill-").append(i).append('"')
+                    .append(",\"name\":\"Skill ").append(i).append('"')
+                    .append(",\"categoryKey\":\"prog-lang\"")
+                    .append(",\"description\":\"Description of skill ").append(i).append('"')
+                    .append(",\"popularityScore\":").append(i % 100)
+                    .append(",\"averageSalary\":").append(40_000 + i)
+                    .append(",\"updatedAt\":\"2025-10-").append(10 + i % 20).append("T12:00:00Z\"}");
+            refs.add(new SkillRefDTO(i, "Skill " + i, "skill-" + i));
+        }
+        body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<SkillRefDTO> treeParse() throws IOException {
+        JsonNode data = mapper.readTree(new String(body, StandardCharsets.UTF_8)).get("data");
+        Map<String, JsonNode> bySlug = new HashMap<>();
+        for (JsonNode item : data) {
+            bySlug.put(item.get("slug").asText().toLowerCase(), item);
+        }
+        for (SkillRefDTO ref : refs) {
+            JsonNode stat = bySlug.get(ref.getSlug());
+            if (stat == null) continue;
+            ref.setPopularityScore(stat.get("popularityScore").asInt());
+            ref.setAverageSalary(stat.get("averageSalary").asInt());
+            ref.setCategoryKey(stat.get("categoryKey").asText());
+            ref.setDescription(stat.get("description").asText());
+            ref.setUpdatedAt(legacyParseUpdatedAt(stat.get("updatedAt")));
+        }
+        return refs;
+    }
+
+    @Benchmark
+    public List<SkillRefDTO> streamingParse() throws IOException {
+        Map<String, SkillStats> bySlug = parser.parse(new ByteArrayInputStream(body));
+        service.enrichSkillRefs(refs, bySlug);
+        return refs;
+    }
+
+    // The timestamp handling ExternalStatsService used before the streaming parser
+    private static ZonedDateTime legacyParseUpdatedAt(JsonNode updated) {
+        if (updated.isNumber() || updated.asText().matches("\\d+(\\.\\d+)?")) {
+            long value = updated.isNumber() ? updated.longValue() : (long) Double.parseDouble(updated.asText());
+            return (value > 1_000_000_000_000L)
+                    ? Instant.ofEpochMilli(value).atZone(ZoneOffset.UTC)
+                    : Instant.ofEpochSecond(value).atZone(ZoneOffset.UTC);
+        }
+        String text = updated.asText().trim();
+        if (text.endsWith("Z") || text.contains("+") || text.contains("-")) {
+            return ZonedDateTime.parse(text);
+        }
+        return LocalDateTime.parse(text).atZone(ZoneOffset.UTC);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StatsParsingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package app.benchmarks;
+
+import app.services.ExternalStatsService;
+import app.services.ExternalStatsSettings;
+import app.services.FakeStatsProvider;
+import app.services.SkillStats;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purpose: Provider-bound enrichment under concurrent load, against the embedded FakeStatsProvider
+ * with long-tailed latency and injected errors. Every operation fetches 20 random slugs past the cache
+ * (fetchAll), so the numbers reflect the client: chunking, bulkhead, breaker and parsing.
+ * The client metrics (failed calls, breaker state, rejections) are printed after each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+@Fork(1)
+public class StatsProviderLoadBenchmark {
+
+    private static final int CATALOGUE = 1_000;
+    private static final int SLUGS_PER_REQUEST = 20;
+
+    @Param({"0.0", "0.05"})
+    private double errorRate;
+
+    @Param({"20"})
+    private long medianLatencyMs;
+
+    private FakeStatsProvider provider;
+    private ExternalStatsService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        provider = new FakeStatsProvider()
+                .seed(7)
+                .latency(FakeStatsProvider.Latency.logNormal(medianLatencyMs, 0.5))
+                .errorRate(errorRate)
+                .gzip(true);
+        service = new ExternalStatsService(ExternalStatsSettings.builder()
+                .base(provider.baseUrl())
+                .chunkSize(10)
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\nprovider requests: " + provider.requestCount() + ", injected errors: " + provider.errorCount());
+        System.out.println("client metrics: " + service.metrics());
+        provider.close();
+    }
+
+    @Benchmark
+    public Map<String, SkillStats> enrichRandomSlugs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<String> slugs = new HashSet<>();
+        while (slugs.size() < SLUGS_PER_REQUEST) {
+            slugs.add("skill-" + random.nextInt(CATALOGUE));
+        }
+        return service.fetchAll(slugs).join().statsBySlug();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StatsProviderLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -12,7 +12,11 @@ import io.restassured.RestAssured;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static io.restassured.RestAssured.*;
@@ -27,10 +31,15 @@ public class CandidateControllerTest {
     private static Javalin app;
     private static String userToken, adminToken;
 
+    @TempDir
+    static Path statsDir;
+
     @BeforeAll
     void setUpAll() {
         HibernateConfig.setTest(true);
         System.setProperty("TEST_ENV", "true");
+        // keep the stats snapshot away from the one a locally running server uses
+        System.setProperty("EXTERNAL_STATS_SNAPSHOT_FILE", statsDir.resolve("skill-stats.bin").toString());
         app = ApplicationConfig.startServer(7070);
 
         RestAssured.baseURI = "http://localhost";
@@ -92,6 +101,27 @@ public class CandidateControllerTest {
                 .body("size()", greaterThanOrEqualTo(2));
     }
 
+    @Test
+    void testReadAllCandidates_paged() {
+        Integer cursor = given()
+                .when()
+                .get("/candidates?after=0&limit=1")
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(1))
+                .body("limit", equalTo(1))
+                .body("nextCursor", notNullValue())
+                .extract().path("nextCursor");
+
+        given()
+                .when()
+                .get("/candidates?after={after}&limit=1", cursor)
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(1))
+                .body("items[0].id", greaterThan(cursor));
+    }
+
     @Test
     void testGetCandidateById_includesSkills() {
         Integer id = given()
@@ -167,6 +197,51 @@ public class CandidateControllerTest {
                 .statusCode(anyOf(equalTo(404), equalTo(200)));
     }
 
+    @Test
+    void testPatchCandidate_keepsSkillsWhenAbsent() {
+        Integer id = given()
+                .when()
+                .get("/candidates")
+                .then().statusCode(200)
+                .extract().path("[0].id");
+        int skillCount = given().get("/candidates/{id}", id).then().extract().path("skills.size()");
+
+        given()
+                .header("Authorization", userToken)
+                .contentType("application/json")
+                .body("{\"phone\":\"11223344\"}")
+                .when()
+                .patch("/candidates/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("phone", equalTo("11223344"))
+                .body("name", notNullValue())
+                .body("skills.size()", equalTo(skillCount));
+    }
+
+    @Test
+    void testBulkImport_ndjson() {
+        String ndjson = """
+                {"name":"Bulk One","phone":"1","education":"BSc","skills":[]}
+                {"name":"","phone":"2","education":"BSc","skills":[]}
+                {"name":"Bulk Three","phone":"3","education":"MSc","skills":[]}
+                """;
+
+        given()
+                .header("Authorization", userToken)
+                .contentType("application/x-ndjson")
+                .body(ndjson)
+                .when()
+                .post("/candidates/bulk")
+                .then()
+                .statusCode(200)
+                .body("received", equalTo(3))
+                .body("created", equalTo(2))
+                .body("failed", equalTo(1))
+                .body("rows[1].status", equalTo("invalid"))
+                .body("rows[2].id", notNullValue());
+    }
+
     @Test
     void testLinkSkillToCandidate() {
         // create candidate without skills
@@ -205,6 +280,39 @@ public class CandidateControllerTest {
                 .body("skills.find { it.id == %s }", withArgs(skillId), notNullValue());
     }
 
+    @Test
+    void testLinkSeveralSkillsToCandidate() {
+        int candidateId = given()
+                .header("Authorization", userToken)
+                .contentType("application/json")
+                .body("{\"name\":\"Multi Link\",\"phone\":\"1\",\"education\":\"BSc\",\"skills\":[]}")
+                .when()
+                .post("/candidates")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        List<Integer> skillIds = given()
+                .when()
+                .get("/candidates")
+                .then().statusCode(200)
+                .extract().path("skills.flatten().id");
+
+        // linking twice is a no-op the second time
+        for (int i = 0; i < 2; i++) {
+            given()
+                    .header("Authorization", userToken)
+                    .contentType("application/json")
+                    .body(skillIds)
+                    .when()
+                    .put("/candidates/{id}/skills", candidateId)
+                    .then()
+                    .statusCode(200)
+                    .body("id", equalTo(candidateId))
+                    .body("skills.size()", equalTo(new HashSet<>(skillIds).size()));
+        }
+    }
+
     @Test
     void testFilterByCategory() {
         given()
@@ -0,0 +1,121 @@
+package app.controllers.impl;
+
+import app.config.ApplicationConfig;
+import app.config.HibernateConfig;
+import io.javalin.Javalin;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReportControllerTest {
+
+    private static final String SUMMARY = "/reports/summary";
+    private static Javalin app;
+
+    @TempDir
+    static Path statsDir;
+
+    @BeforeAll
+    void setUpAll() {
+        HibernateConfig.setTest(true);
+        System.setProperty("TEST_ENV", "true");
+        System.setProperty("EXTERNAL_STATS_SNAPSHOT_FILE", statsDir.resolve("skill-stats.bin").toString());
+        app = ApplicationConfig.startServer(7072);
+
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.port = 7072;
+        RestAssured.basePath = "/api";
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        if (app != null) ApplicationConfig.stopServer(app);
+    }
+
+    private Response fresh() {
+        return given().when().get(SUMMARY).then()
+                .statusCode(200)
+                .header("ETag", not(emptyOrNullString()))
+                .header("Last-Modified", not(emptyOrNullString()))
+                .header("Cache-Control", "no-cache")
+                .extract().response();
+    }
+
+    @Test
+    void ifNoneMatch_currentTag_notModified() {
+        String etag = fresh().header("ETag");
+
+        given().header("If-None-Match", etag)
+                .when().get(SUMMARY)
+                .then().statusCode(304).body(emptyString()).header("ETag", etag);
+    }
+
+    @Test
+    void ifNoneMatch_weakTag_notModified() {
+        String etag = fresh().header("ETag");
+
+        given().header("If-None-Match", "W/" + etag)
+                .when().get(SUMMARY)
+                .then().statusCode(304);
+    }
+
+    @Test
+    void ifNoneMatch_listContainingTag_notModified() {
+        String etag = fresh().header("ETag");
+
+        given().header("If-None-Match", "\"r0-0\", " + etag)
+                .when().get(SUMMARY)
+                .then().statusCode(304);
+    }
+
+    @Test
+    void ifNoneMatch_star_notModified() {
+        given().header("If-None-Match", "*")
+                .when().get(SUMMARY)
+                .then().statusCode(304);
+    }
+
+    @Test
+    void ifNoneMatch_otherTag_servesBody() {
+        given().header("If-None-Match", "\"r0-0\"")
+                .when().get(SUMMARY)
+                .then().statusCode(200).body("candidatesWithSkills", notNullValue());
+    }
+
+    @Test
+    void ifModifiedSince_lastModified_notModified() {
+        String lastModified = fresh().header("Last-Modified");
+
+        given().header("If-Modified-Since", lastModified)
+                .when().get(SUMMARY)
+                .then().statusCode(304);
+    }
+
+    @Test
+    void ifModifiedSince_earlierDate_servesBody() {
+        ZonedDateTime lastModified = ZonedDateTime.parse(fresh().header("Last-Modified"), DateTimeFormatter.RFC_1123_DATE_TIME);
+
+        given().header("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.minusDays(1)))
+                .when().get(SUMMARY)
+                .then().statusCode(200);
+    }
+
+    @Test
+    void ifNoneMatch_winsOverIfModifiedSince() {
+        String lastModified = fresh().header("Last-Modified");
+
+        given().header("If-None-Match", "\"r0-0\"")
+                .header("If-Modified-Since", lastModified)
+                .when().get(SUMMARY)
+                .then().statusCode(200);
+    }
+}
@@ -0,0 +1,156 @@
+package app.daos.impl;
+
+import app.config.HibernateConfig;
+import app.config.Populator;
+import app.dtos.CandidateDTO;
+import app.dtos.SkillRefDTO;
+import app.entities.CandidateSkill;
+import app.entities.Skill;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CandidateDAOTest {
+
+    private static final EntityManagerFactory emf = HibernateConfig.getEntityManagerFactoryForTest();
+    private static final CandidateDAO dao = CandidateDAO.getInstance(emf);
+    private static final int EXTRA_CANDIDATES = 20;
+    private Statistics statistics;
+
+    @BeforeAll
+    void setUpAll() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @BeforeEach
+    void setupEach() {
+        try (EntityManager em = emf.createEntityManager()) {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM CandidateSkill").executeUpdate();
+            em.createQuery("DELETE FROM Candidate").executeUpdate();
+            em.createQuery("DELETE FROM Skill").executeUpdate();
+            em.getTransaction().commit();
+        }
+        Populator.populateSampleData();
+
+        // enough candidates with skills that an N+1 read would show up in the statement count
+        List<Skill> skills;
+        try (EntityManager em = emf.createEntityManager()) {
+            skills = em.createQuery("SELECT s FROM Skill s", Skill.class).getResultList();
+        }
+        Set<SkillRefDTO> refs = skills.stream()
+                .map(s -> new SkillRefDTO(s.getId(), s.getName(), s.getSlug()))
+                .collect(Collectors.toSet());
+        for (int i = 0; i < EXTRA_CANDIDATES; i++) {
+            dao.create(new CandidateDTO(0, "Candidate " + i, "1000" + i, "BSc", refs));
+        }
+    }
+
+    @Test
+    void readAll_loadsCandidatesAndSkillsInOneStatement() {
+        statistics.clear();
+
+        List<CandidateDTO> all = dao.readAll();
+
+        assertEquals(EXTRA_CANDIDATES + 2, all.size());
+        assertTrue(all.stream().allMatch(c -> !c.getSkills().isEmpty()));
+        assertTrue(all.stream().flatMap(c -> c.getSkills().stream()).allMatch(s -> s.getSlug() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void readAllByCategory_loadsAllSkillsOfMatchingCandidatesInOneStatement() {
+        dao.readAllByCategory("PROG_LANG"); // warm the category query cache
+        statistics.clear();
+
+        List<CandidateDTO> devs = dao.readAllByCategory("PROG_LANG");
+
+        // Alice (Java) plus every extra candidate; Bob has no PROG_LANG skill
+        assertEquals(EXTRA_CANDIDATES + 1, devs.size());
+        CandidateDTO alice = devs.stream().filter(c -> c.getName().equals("Alice")).findFirst().orElseThrow();
+        assertEquals(2, alice.getSkills().size()); // Java and Spring Boot, not just the matching skill
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void create_resolvesSkillsFromSecondLevelCache() {
+        SkillRefDTO java = dao.readAll().get(0).getSkills().iterator().next();
+        dao.create(new CandidateDTO(0, "Warm", "1", "BSc", Set.of(java)));
+        statistics.clear();
+
+        dao.create(new CandidateDTO(0, "Cached", "2", "BSc", Set.of(java)));
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+    }
+
+    @Test
+    void readAll_doesNotMaterializeEntities() {
+        statistics.clear();
+
+        dao.readAll();
+        dao.readPage(0, 5);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void read_loadsCandidateAndSkillsInOneStatement() {
+        int id = dao.readAll().get(0).getId();
+        statistics.clear();
+
+        CandidateDTO dto = dao.read(id);
+
+        assertNotNull(dto);
+        assertFalse(dto.getSkills().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void update_withUnchangedSkills_doesNotRewriteLinks() {
+        CandidateDTO alice = dao.readAll().stream().filter(c -> c.getName().equals("Alice")).findFirst().orElseThrow();
+        statistics.clear();
+
+        CandidateDTO updated = dao.update(alice.getId(),
+                new CandidateDTO(alice.getId(), alice.getName(), "99999999", alice.getEducation(), alice.getSkills()));
+
+        assertEquals(alice.getSkills(), updated.getSkills());
+        EntityStatistics links = statistics.getEntityStatistics(CandidateSkill.class.getName());
+        assertEquals(0, links.getInsertCount());
+        assertEquals(0, links.getDeleteCount());
+    }
+
+    @Test
+    void linkSkills_takesIdsFromThePooledGenerator() {
+        List<Integer> skillIds;
+        try (EntityManager em = emf.createEntityManager()) {
+            skillIds = em.createQuery("SELECT s.id FROM Skill s ORDER BY s.id", Integer.class).getResultList();
+        }
+        int candidateId = dao.create(new CandidateDTO(0, "Linked", "1", "BSc", Set.of())).getId();
+
+        for (Integer skillId : skillIds.subList(0, 3)) {
+            dao.linkSkill(candidateId, skillId);
+        }
+
+        List<Integer> linkIds;
+        try (EntityManager em = emf.createEntityManager()) {
+            linkIds = em.createQuery("SELECT cs.id FROM CandidateSkill cs WHERE cs.candidate.id = :id ORDER BY cs.id", Integer.class)
+                    .setParameter("id", candidateId)
+                    .getResultList();
+        }
+        assertEquals(3, linkIds.size());
+        assertTrue(linkIds.get(2) - linkIds.get(0) < 50, "ids " + linkIds); // nextval() per row would step by the allocation size
+    }
+}
@@ -0,0 +1,122 @@
+package app.daos.impl;
+
+import app.config.HibernateConfig;
+import app.config.Populator;
+import app.dtos.PopularityScoreDTO;
+import app.entities.SkillStat;
+import app.services.SkillStats;
+import app.services.StatsSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SkillStatsDAOTest {
+
+    private static final EntityManagerFactory emf = HibernateConfig.getEntityManagerFactoryForTest();
+    private static final SkillStatsDAO dao = SkillStatsDAO.getInstance(emf);
+    private static final CandidateDAO candidateDao = CandidateDAO.getInstance(emf);
+
+    @BeforeEach
+    void setupEach() {
+        try (EntityManager em = emf.createEntityManager()) {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM CandidateSkill").executeUpdate();
+            em.createQuery("DELETE FROM Candidate").executeUpdate();
+            em.createQuery("DELETE FROM Skill").executeUpdate();
+            em.createQuery("DELETE FROM SkillStat").executeUpdate();
+            em.getTransaction().commit();
+        }
+        Populator.populateSampleData(); // Alice: java, spring-boot; Bob: react, docker, postgresql
+    }
+
+    private static StatsSnapshot snapshot(Instant takenAt, Map<String, Integer> popularity) {
+        Map<String, SkillStats> stats = new HashMap<>();
+        popularity.forEach((slug, score) -> stats.put(slug, new SkillStats(slug, score, 50000, null, null, null)));
+        return new StatsSnapshot(stats, stats.size(), takenAt.truncatedTo(ChronoUnit.MICROS), Duration.ZERO);
+    }
+
+    private int idOf(String name) {
+        return candidateDao.readAll().stream().filter(c -> c.getName().equals(name)).findFirst().orElseThrow().getId();
+    }
+
+    @Test
+    void readTopByPopularity_averagesScoredSkillsInSql() {
+        dao.save(snapshot(Instant.now(), Map.of("java", 80, "spring-boot", 71, "react", 90, "docker", 50)));
+
+        PopularityScoreDTO top = dao.readTopByPopularity();
+
+        assertEquals(idOf("Alice"), top.getId()); // 75.5 beats Bob's 70 (postgresql has no stats)
+        assertEquals(75.5, top.getAveragePopularityScore());
+    }
+
+    @Test
+    void readTopByPopularity_nullWithoutStats() {
+        assertNull(dao.readTopByPopularity());
+    }
+
+    @Test
+    void save_neverOverwritesWithAnOlderSnapshot() {
+        Instant now = Instant.now();
+        dao.save(snapshot(now, Map.of("java", 80, "react", 90)));
+        dao.save(snapshot(now.minusSeconds(60), Map.of("java", 10, "react", 10)));
+
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(80, em.find(SkillStat.class, "java").getPopularityScore());
+        }
+    }
+
+    @Test
+    void save_neverOverwritesNewerStatsWithCarriedOverOnes() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        dao.save(snapshot(now.minusSeconds(60), Map.of("java", 90))); // another instance fetched java a minute ago
+        // this instance's java call failed, so it still has the stats it fetched an hour ago
+        StatsSnapshot mine = snapshot(now, Map.of("java", 10, "react", 90));
+        dao.save(new StatsSnapshot(mine.statsBySlug(), 2, now, Duration.ZERO, Map.of("java", now.minusSeconds(3600))));
+
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(90, em.find(SkillStat.class, "java").getPopularityScore());
+            assertEquals(90, em.find(SkillStat.class, "react").getPopularityScore());
+        }
+    }
+
+    @Test
+    void save_keepsSlugsMissingFromANewerSnapshot() {
+        Instant now = Instant.now();
+        dao.save(snapshot(now.minusSeconds(60), Map.of("java", 80, "react", 90)));
+        dao.save(snapshot(now, Map.of("java", 80))); // react's call failed this time
+
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(90, em.find(SkillStat.class, "react").getPopularityScore());
+        }
+    }
+
+    @Test
+    void save_dropsSlugsNoLongerInTheCatalogue() {
+        dao.save(snapshot(Instant.now(), Map.of("java", 80, "cobol", 99)));
+
+        try (EntityManager em = emf.createEntityManager()) {
+            assertNull(em.find(SkillStat.class, "cobol"));
+            assertEquals(idOf("Alice"), dao.readTopByPopularity().getId());
+        }
+    }
+
+    @Test
+    void save_storesLongDescriptions() {
+        String description = "x".repeat(5_000);
+        dao.save(new StatsSnapshot(Map.of("java", new SkillStats("java", 80, 50000, null, description, null)),
+                1, Instant.now().truncatedTo(ChronoUnit.MICROS), Duration.ZERO));
+
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(description, em.find(SkillStat.class, "java").getDescription());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package app.services;
+
+import app.enums.SkillCategory;
+import app.utils.QuantileSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandidateReportTest {
+
+    private static final Map<String, SkillStats> STATS = Map.of(
+            "java", stats("java", 80, 60000),
+            "spring-boot", stats("spring-boot", 70, 65000),
+            "go", stats("go", 60, null),
+            "react", stats("react", 90, 50000));
+
+    private static SkillStats stats(String slug, Integer popularity, Integer salary) {
+        return new SkillStats(slug, popularity, salary, null, null, null);
+    }
+
+    private CandidateReport sample(int n) {
+        CandidateReport report = new CandidateReport(STATS, n);
+        report.accept(1, "Alice", SkillCategory.PROG_LANG, "java");
+        report.accept(1, "Alice", SkillCategory.FRAMEWORK, "spring-boot");
+        report.accept(2, "Bob", SkillCategory.PROG_LANG, "go");
+        report.accept(2, "Bob", SkillCategory.FRONTEND, "react");
+        report.accept(3, "Carol", SkillCategory.DB, "unknown");
+        report.accept(4, "Dave", SkillCategory.PROG_LANG, "java");
+        return report.finish();
+    }
+
+    @Test
+    void top_isBoundedAndOrdered() {
+        List<CandidateReport.Scored> top = sample(2).top();
+
+        assertEquals(List.of(4, 1), top.stream().map(CandidateReport.Scored::id).toList()); // 80, then 75 (Bob is 75 too, but id 2 > 1)
+        assertEquals(75.0, top.get(1).averagePopularityScore());
+    }
+
+    @Test
+    void leaders_useOnlyTheCategorysSkills() {
+        Map<SkillCategory, List<CandidateReport.Scored>> leaders = sample(1).leaders();
+
+        assertEquals(1, leaders.get(SkillCategory.PROG_LANG).get(0).id()); // Alice and Dave both 80 on java; lowest id wins
+        assertEquals(2, leaders.get(SkillCategory.FRONTEND).get(0).id());
+        assertFalse(leaders.containsKey(SkillCategory.DB)); // no stats for Carol's skill
+    }
+
+    @Test
+    void salaries_averagePerCandidate() {
+        CandidateReport report = sample(1);
+
+        assertEquals(3, report.salaries().getCount()); // Alice 62500, Bob 50000, Dave 60000
+        assertEquals(4, report.candidates());
+        assertEquals(2, report.salariesByCategory().get(SkillCategory.PROG_LANG).getCount()); // go has no salary
+    }
+
+    @Test
+    void sketch_staysWithinRelativeAccuracyAndMerges() {
+        Random random = new Random(7);
+        double[] values = new double[10_000];
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 20_000 + random.nextDouble() * 100_000;
+            (i % 2 == 0 ? left : right).add(values[i]);
+        }
+        Arrays.sort(values);
+
+        QuantileSketch merged = left.merge(right);
+
+        assertEquals(values.length, merged.getCount());
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            double exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertEquals(exact, merged.quantile(q), exact * QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    void parallel_matchesSequential() {
+        Random random = new Random(11);
+        String[] slugs = STATS.keySet().toArray(String[]::new);
+        SkillLinkTable table = new SkillLinkTable();
+        for (int id = 1; id <= 5_000; id++) {
+            int skills = 1 + random.nextInt(4);
+            for (int k = 0; k < skills; k++) {
+                table.add(id, "Candidate " + id, SkillCategory.values()[random.nextInt(SkillCategory.values().length)],
+                        slugs[random.nextInt(slugs.length)]);
+            }
+        }
+        CandidateReport sequential = new CandidateReport(STATS, 5);
+        table.scan(0, table.size(), sequential);
+        sequential.finish();
+
+        CandidateReport parallel = new ParallelReports(new ForkJoinPool(4), 500).compute(table, STATS, 5);
+
+        assertEquals(sequential.candidates(), parallel.candidates());
+        assertEquals(sequential.top(), parallel.top());
+        assertEquals(sequential.leaders(), parallel.leaders());
+        assertEquals(sequential.salaries().summary(), parallel.salaries().summary());
+    }
+}
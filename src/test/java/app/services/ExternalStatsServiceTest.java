@@ -0,0 +1,180 @@
+package app.services;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalStatsServiceTest {
+
+    private FakeStatsProvider provider;
+
+    @BeforeEach
+    void startProvider() throws IOException {
+        provider = new FakeStatsProvider();
+    }
+
+    @AfterEach
+    void stopProvider() {
+        provider.close();
+    }
+
+    private ExternalStatsService service(ExternalStatsSettings.ExternalStatsSettingsBuilder settings) {
+        return new ExternalStatsService(settings.base(provider.baseUrl()).build());
+    }
+
+    @Test
+    void fetchAll_returnsProviderStats() {
+        ExternalStatsService stats = service(ExternalStatsSettings.builder());
+
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("java", "python")).join().statsBySlug();
+
+        assertEquals(Set.of("java", "python"), result.keySet());
+        assertNotNull(result.get("java").popularityScore());
+        assertNotNull(result.get("java").updatedAt());
+    }
+
+    @Test
+    void slowProvider_timesOutInsteadOfHanging() {
+        provider.latency(FakeStatsProvider.Latency.fixed(2_000));
+        ExternalStatsService stats = service(ExternalStatsSettings.builder().requestTimeout(Duration.ofMillis(200)));
+
+        long start = System.nanoTime();
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("java")).join().statsBySlug();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.isEmpty());
+        assertTrue(elapsedMs < 1_500, "took " + elapsedMs + " ms");
+        assertEquals(1L, stats.metrics().get("timedOutCalls"));
+    }
+
+    @Test
+    void breaker_opensAfterFailures_andFailsFast() {
+        provider.status(500);
+        ExternalStatsService stats = service(ExternalStatsSettings.builder().breakerFailureThreshold(2));
+
+        stats.fetchAll(Set.of("a")).join();
+        stats.fetchAll(Set.of("b")).join();
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("c")).join().statsBySlug();
+
+        assertTrue(result.isEmpty());
+        assertEquals(2, provider.requestCount()); // the third lookup never reached the provider
+        @SuppressWarnings("unchecked")
+        Map<String, Object> breaker = (Map<String, Object>) stats.metrics().get("breaker");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.get("state"));
+        assertEquals(1L, breaker.get("rejected"));
+    }
+
+    @Test
+    void breaker_closesAgainAfterSuccessfulTrial() throws InterruptedException {
+        provider.status(500);
+        ExternalStatsService stats = service(ExternalStatsSettings.builder()
+                .breakerFailureThreshold(1)
+                .breakerOpenDuration(Duration.ofMillis(100)));
+        stats.fetchAll(Set.of("a")).join();
+
+        provider.status(200);
+        Thread.sleep(150);
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("b")).join().statsBySlug();
+
+        assertEquals(Set.of("b"), result.keySet());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> breaker = (Map<String, Object>) stats.metrics().get("breaker");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.get("state"));
+    }
+
+    @Test
+    void bulkhead_rejectsCallsBeyondTheLimit() {
+        provider.latency(FakeStatsProvider.Latency.fixed(500));
+        ExternalStatsService stats = service(ExternalStatsSettings.builder().maxConcurrentCalls(1));
+
+        CompletableFuture<StatsFetch> first = stats.fetchAll(Set.of("java"));
+        Map<String, SkillStats> second = stats.fetchAll(Set.of("python")).join().statsBySlug();
+
+        assertTrue(second.isEmpty());
+        assertFalse(first.isDone()); // the rejected call did not wait for the slow one
+        assertEquals(Set.of("java"), first.join().statsBySlug().keySet());
+        assertEquals(1L, stats.metrics().get("bulkheadRejections"));
+    }
+
+    @Test
+    void largeSlugSets_areFetchedInChunksAndMerged() {
+        ExternalStatsService stats = service(ExternalStatsSettings.builder().chunkSize(2).chunkParallelism(2));
+
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("a", "b", "c", "d", "e")).join().statsBySlug();
+
+        assertEquals(Set.of("a", "b", "c", "d", "e"), result.keySet());
+        assertEquals(3, provider.requestCount());
+    }
+
+    @Test
+    void failedChunk_onlyDropsItsOwnSlugs() {
+        provider.failingSlug("c");
+        ExternalStatsService stats = service(ExternalStatsSettings.builder().chunkSize(1));
+
+        StatsFetch result = stats.fetchAll(Set.of("a", "b", "c")).join();
+
+        assertEquals(Set.of("a", "b"), result.statsBySlug().keySet());
+        assertEquals(Set.of("c"), result.failedSlugs());
+        assertEquals(1L, stats.metrics().get("failedCalls"));
+    }
+
+    @Test
+    void slugsNeedingEscapes_areEncodedInTheQuery() {
+        ExternalStatsService stats = service(ExternalStatsSettings.builder());
+
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("c#", "objective c", "a&b")).join().statsBySlug();
+
+        assertEquals(Set.of("c#", "objective c", "a&b"), result.keySet());
+        assertEquals(0, stats.metrics().get("activeCalls"));
+    }
+
+    @Test
+    void gzipResponses_areDecodedAndCounted() {
+        provider.gzip(true);
+        ExternalStatsService stats = service(ExternalStatsSettings.builder());
+        Set<String> slugs = IntStream.range(0, 40).mapToObj(i -> "skill-" + i).collect(Collectors.toSet());
+
+        Map<String, SkillStats> result = stats.fetchAll(slugs).join().statsBySlug();
+
+        assertEquals(slugs, result.keySet());
+        Map<String, Object> metrics = stats.metrics();
+        assertEquals(1L, metrics.get("gzipResponses"));
+        assertTrue((long) metrics.get("bytesOnWire") < (long) metrics.get("bytesDecoded"));
+    }
+
+    @Test
+    void truncatedBody_countsAsFailedCall() {
+        provider.partialBody(true);
+        ExternalStatsService stats = service(ExternalStatsSettings.builder());
+
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("java")).join().statsBySlug();
+
+        assertTrue(result.isEmpty());
+        assertEquals(1L, stats.metrics().get("failedCalls"));
+    }
+
+    @Test
+    void slowBody_isBoundedByTheRequestTimeout() {
+        provider.slowBody(2_000);
+        ExternalStatsService stats = service(ExternalStatsSettings.builder().requestTimeout(Duration.ofMillis(300)));
+
+        long start = System.nanoTime();
+        Map<String, SkillStats> result = stats.fetchAll(Set.of("java")).join().statsBySlug();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.isEmpty());
+        assertTrue(elapsedMs < 1_500, "took " + elapsedMs + " ms");
+        Map<String, Object> metrics = stats.metrics();
+        assertEquals(1L, metrics.get("timedOutCalls"));
+        assertEquals(1L, metrics.get("abortedCalls")); // the body transfer was stopped, not left running
+        assertEquals(0, metrics.get("activeCalls"));   // and its permit came back only then
+    }
+}
@@ -0,0 +1,224 @@
+package app.services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Purpose: Embedded stand-in for the external stats provider, for tests, benchmarks and offline load tests.
+ * Serves /api/v1/skills/stats?slugs=... with realistic, deterministic stats for any slug and can inject latency,
+ * errors, slow bodies and truncated bodies. Settings can be changed while it runs.
+ *
+ * Point the app at it with -DEXTERNAL_STATS_BASE=http://localhost:PORT/api/v1/skills/stats?slugs=
+ * (the main method starts one on port 7071, or the port given as first argument).
+ */
+public class FakeStatsProvider implements AutoCloseable {
+
+    public static final String PATH = "/api/v1/skills/stats";
+    private static final String[] CATEGORIES = {"prog-lang", "db", "devops", "frontend", "testing", "data"};
+
+    /** Delay before the response headers, drawn per request. */
+    @FunctionalInterface
+    public interface Latency {
+        long nextMillis(Random random);
+
+        static Latency none() {
+            return random -> 0;
+        }
+
+        static Latency fixed(long millis) {
+            return random -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+        }
+
+        // Long-tailed like real network latency: median as given, sigma ~0.5 puts p99 at roughly 3x the median
+        static Latency logNormal(long medianMillis, double sigma) {
+            return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private Random random = new Random(42);
+    private volatile Latency latency = Latency.none();
+    private volatile double errorRate;       // share of requests answered with a 500
+    private volatile String failingSlug;     // requests containing this slug get a 500
+    private volatile int status = 200;
+    private volatile long slowBodyMillis;    // pause after the first half of the body
+    private volatile boolean partialBody;    // send half the body, then close the connection
+    private volatile boolean gzip;           // compress when the client accepts gzip
+
+    public FakeStatsProvider() throws IOException {
+        this(0);
+    }
+
+    public FakeStatsProvider(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH + "?slugs=";
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    public int errorCount() {
+        return errors.get();
+    }
+
+    public synchronized FakeStatsProvider seed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    public FakeStatsProvider latency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public FakeStatsProvider errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public FakeStatsProvider failingSlug(String slug) {
+        this.failingSlug = slug;
+        return this;
+    }
+
+    public FakeStatsProvider status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public FakeStatsProvider slowBody(long pauseMillis) {
+        this.slowBodyMillis = pauseMillis;
+        return this;
+    }
+
+    public FakeStatsProvider partialBody(boolean partialBody) {
+        this.partialBody = partialBody;
+        return this;
+    }
+
+    public FakeStatsProvider gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        long delay;
+        boolean randomError;
+        synchronized (this) { // Random is shared; keep draws in request order for reproducible runs
+            delay = latency.nextMillis(random);
+            randomError = random.nextDouble() < errorRate;
+        }
+        pause(delay);
+
+        String query = exchange.getRequestURI().getRawQuery();
+        String[] slugs = query == null ? new String[0] : Arrays.stream(query.replaceFirst("^slugs=", "").split(","))
+                .map(slug -> URLDecoder.decode(slug, StandardCharsets.UTF_8))
+                .toArray(String[]::new);
+        boolean fail = randomError || status != 200
+                || (failingSlug != null && Arrays.asList(slugs).contains(failingSlug));
+        if (fail) errors.incrementAndGet();
+
+        byte[] body = (fail ? "{\"error\":\"injected failure\"}" : payload(slugs)).getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = compress(body);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(fail ? (status != 200 ? status : 500) : 200, body.length);
+
+        OutputStream os = exchange.getResponseBody();
+        int half = body.length / 2;
+        os.write(body, 0, half);
+        os.flush();
+        if (partialBody) {
+            exchange.close(); // the client sees the connection end before Content-Length bytes
+            return;
+        }
+        pause(slowBodyMillis);
+        os.write(body, half, body.length - half);
+        os.close();
+    }
+
+    // Same slug -> same stats, so runs are comparable
+    private static String payload(String[] slugs) {
+        Instant updated = Instant.parse("2025-10-01T00:00:00Z");
+        return Arrays.stream(slugs)
+                .filter(slug -> !slug.isBlank())
+                .map(slug -> {
+                    Random r = new Random(slug.hashCode());
+                    return "{\"slug\":\"" + slug + "\"" +
+                            ",\"name\":\"" + slug.replace('-', ' ') + "\"" +
+                            ",\"categoryKey\":\"" + CATEGORIES[r.nextInt(CATEGORIES.length)] + "\"" +
+                            ",\"description\":\"Generated stats for " + slug + "\"" +
+                            ",\"popularityScore\":" + r.nextInt(101) +
+                            ",\"averageSalary\":" + (35_000 + r.nextInt(60_000)) +
+                            ",\"updatedAt\":\"" + updated.minus(r.nextInt(90), ChronoUnit.DAYS) + "\"}";
+                })
+                .collect(Collectors.joining(",", "{\"data\":[", "]}"));
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7071;
+        FakeStatsProvider provider = new FakeStatsProvider(port)
+                .latency(Latency.logNormal(80, 0.5))
+                .errorRate(0.01)
+                .gzip(true);
+        System.out.println("Fake stats provider running at " + provider.baseUrl());
+    }
+}
@@ -0,0 +1,107 @@
+package app.services;
+
+import app.dtos.PopularityScoreDTO;
+import app.enums.SkillCategory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportSnapshotServiceTest {
+
+    private static final StatsSnapshot STATS = new StatsSnapshot(Map.of(
+            "java", new SkillStats("java", 80, 60000, null, null, null),
+            "react", new SkillStats("react", 90, 50000, null, null, null)), 2, Instant.now(), Duration.ZERO);
+
+    private final AtomicInteger candidates = new AtomicInteger(2);
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger primaryReads = new AtomicInteger();
+
+    private SkillLinkTable links(boolean primary) {
+        reads.incrementAndGet();
+        if (primary) primaryReads.incrementAndGet();
+        SkillLinkTable table = new SkillLinkTable();
+        for (int id = 1; id <= candidates.get(); id++) {
+            table.add(id, "Candidate " + id, SkillCategory.PROG_LANG, id % 2 == 0 ? "react" : "java");
+        }
+        return table;
+    }
+
+    private ReportSnapshotService service() {
+        return new ReportSnapshotService(this::links, primary -> new PopularityScoreDTO(2, 90.0), () -> STATS,
+                new ParallelReports(ForkJoinPool.commonPool(), 1000), Duration.ofHours(1), Duration.ofMillis(50));
+    }
+
+    private ReportSnapshot awaitVersion(ReportSnapshotService service, long version) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ReportSnapshot snapshot = service.current().get(5, TimeUnit.SECONDS);
+        while (snapshot.version() < version && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            snapshot = service.current().get();
+        }
+        return snapshot;
+    }
+
+    @Test
+    void start_buildsFirstSnapshot() throws Exception {
+        ReportSnapshotService service = service();
+        service.start();
+
+        ReportSnapshot snapshot = service.current().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, snapshot.version());
+        assertEquals(2, snapshot.top().get(0).id());
+        assertEquals(2, snapshot.candidatesWithSkills());
+        assertEquals(0, primaryReads.get()); // scheduled builds read the replica
+    }
+
+    @Test
+    void markChanged_newContentBumpsVersion() throws Exception {
+        ReportSnapshotService service = service();
+        service.start();
+        ReportSnapshot first = service.current().get(5, TimeUnit.SECONDS);
+
+        candidates.set(3);
+        service.markChanged();
+        ReportSnapshot second = awaitVersion(service, 2);
+
+        assertEquals(2, second.version());
+        assertEquals(3, second.candidatesWithSkills());
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(1, primaryReads.get()); // the replica may not have the change yet
+    }
+
+    @Test
+    void markChanged_sameContentKeepsEtag() throws Exception {
+        ReportSnapshotService service = service();
+        service.start();
+        ReportSnapshot first = service.current().get(5, TimeUnit.SECONDS);
+
+        service.markChanged();
+        Thread.sleep(300);
+        ReportSnapshot rebuilt = service.current().get();
+
+        assertEquals(2, reads.get());
+        assertEquals(first.etag(), rebuilt.etag());
+        assertEquals(first.lastModified(), rebuilt.lastModified());
+        assertTrue(rebuilt.builtAt().isAfter(first.builtAt()) || rebuilt.builtAt().equals(first.builtAt()));
+    }
+
+    @Test
+    void markChanged_coalescesBursts() throws Exception {
+        ReportSnapshotService service = service();
+        service.start();
+        service.current().get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 20; i++) service.markChanged();
+        Thread.sleep(300);
+
+        assertEquals(2, reads.get()); // the first build plus one for the whole burst
+    }
+}
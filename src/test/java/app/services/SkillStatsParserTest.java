@@ -0,0 +1,55 @@
+package app.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SkillStatsParserTest {
+
+    private final SkillStatsParser parser = new SkillStatsParser();
+
+    private Map<String, SkillStats> parse(String json) throws IOException {
+        return parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void parse_readsTypedFieldsAndSkipsUnknownOnes() throws IOException {
+        Map<String, SkillStats> stats = parse("{\"meta\":{\"count\":1},\"data\":[{\"slug\":\"Java\",\"tags\":[\"a\"]," +
+                "\"popularityScore\":\"90\",\"averageSalary\":60000,\"categoryKey\":\"prog-lang\",\"description\":null}]}");
+
+        SkillStats java = stats.get("java");
+        assertEquals(90, java.popularityScore());
+        assertEquals(60000, java.averageSalary());
+        assertEquals("prog-lang", java.categoryKey());
+        assertNull(java.description());
+    }
+
+    @Test
+    void parse_acceptsEpochAndIsoTimestamps() throws IOException {
+        Map<String, SkillStats> stats = parse("{\"data\":[" +
+                "{\"slug\":\"a\",\"updatedAt\":1700000000}," +
+                "{\"slug\":\"b\",\"updatedAt\":\"1700000000000\"}," +
+                "{\"slug\":\"c\",\"updatedAt\":\"2025-10-01T12:00:00Z\"}," +
+                "{\"slug\":\"d\",\"updatedAt\":\"2025-10-01T12:00:00\"}," +
+                "{\"slug\":\"e\",\"updatedAt\":\"yesterday\"}]}");
+
+        ZonedDateTime epoch = ZonedDateTime.of(2023, 11, 14, 22, 13, 20, 0, ZoneOffset.UTC);
+        assertEquals(epoch, stats.get("a").updatedAt());
+        assertEquals(epoch, stats.get("b").updatedAt());
+        assertEquals(ZonedDateTime.of(2025, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC).toInstant(), stats.get("c").updatedAt().toInstant());
+        assertEquals(ZonedDateTime.of(2025, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC), stats.get("d").updatedAt());
+        assertNull(stats.get("e").updatedAt());
+    }
+
+    @Test
+    void parse_returnsNullWithoutDataArray() throws IOException {
+        assertNull(parse("{\"error\":\"rate limited\"}"));
+    }
+}
@@ -0,0 +1,84 @@
+package app.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatsSnapshotFileTest {
+
+    private static final String SOURCE = "http://localhost:7071/api/v1/skills/stats?slugs=";
+
+    @TempDir
+    Path dir;
+
+    private StatsSnapshot sample() {
+        ZonedDateTime updated = ZonedDateTime.of(2025, 10, 1, 12, 0, 0, 500, ZoneOffset.UTC);
+        Instant takenAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new StatsSnapshot(Map.of(
+                "java", new SkillStats("java", 90, 60000, "prog-lang", "Java – the language", updated),
+                "go", new SkillStats("go", null, null, null, null, null)),
+                3, takenAt, Duration.ofMillis(42), Map.of("go", takenAt.minusSeconds(300)));
+    }
+
+    @Test
+    void writeThenRead_roundTrips() throws IOException {
+        StatsSnapshotFile file = new StatsSnapshotFile(dir.resolve("stats.bin"), SOURCE);
+        StatsSnapshot written = sample();
+
+        file.write(written);
+        StatsSnapshot read = file.read();
+
+        assertEquals(written, read);
+    }
+
+    @Test
+    void read_returnsNullWithoutFile() {
+        assertNull(new StatsSnapshotFile(dir.resolve("missing.bin"), SOURCE).read());
+    }
+
+    @Test
+    void read_rejectsCorruptedPayload() throws IOException {
+        Path path = dir.resolve("stats.bin");
+        new StatsSnapshotFile(path, SOURCE).write(sample());
+        try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+            long last = raf.length() - 1;
+            raf.seek(last);
+            int b = raf.read();
+            raf.seek(last);
+            raf.write(b ^ 0xFF);
+        }
+
+        assertNull(new StatsSnapshotFile(path, SOURCE).read());
+    }
+
+    @Test
+    void read_rejectsOtherVersions() throws IOException {
+        Path path = dir.resolve("stats.bin");
+        new StatsSnapshotFile(path, SOURCE).write(sample());
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[7] = (byte) (StatsSnapshotFile.VERSION + 1); // low byte of the version int
+        Files.write(path, bytes);
+
+        assertNull(new StatsSnapshotFile(path, SOURCE).read());
+    }
+
+    @Test
+    void read_rejectsFilesFromAnotherProvider() throws IOException {
+        Path path = dir.resolve("stats.bin");
+        new StatsSnapshotFile(path, SOURCE).write(sample());
+
+        assertNull(new StatsSnapshotFile(path, ExternalStatsSettings.DEFAULT_BASE).read());
+    }
+}
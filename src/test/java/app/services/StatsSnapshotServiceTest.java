@@ -0,0 +1,109 @@
+package app.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatsSnapshotServiceTest {
+
+    private static final Set<String> SLUGS = Set.of("java", "go", "react");
+
+    @TempDir
+    Path dir;
+
+    private FakeStatsProvider provider;
+    private StatsSnapshotFile file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        provider = new FakeStatsProvider();
+        file = new StatsSnapshotFile(dir.resolve("stats.bin"), provider.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    private StatsSnapshotService service() {
+        ExternalStatsService stats = new ExternalStatsService(ExternalStatsSettings.builder()
+                .base(provider.baseUrl())
+                .chunkSize(1)
+                .build());
+        return new StatsSnapshotService(() -> SLUGS, stats, Duration.ofHours(1), file);
+    }
+
+    @Test
+    void providerDown_keepsPreviousSnapshotAndFile() {
+        StatsSnapshotService service = service();
+        service.refresh(true);
+        StatsSnapshot good = service.current();
+
+        provider.status(500);
+        service.refresh(true);
+
+        assertSame(good, service.current());
+        assertEquals(SLUGS, file.read().statsBySlug().keySet());
+        assertEquals(1L, service.metrics().get("refreshFailures"));
+    }
+
+    @Test
+    void failedChunks_keepTheirLastKnownStats() {
+        StatsSnapshotService service = service();
+        service.refresh(true);
+        SkillStats go = service.current().statsBySlug().get("go");
+        Instant goFetchedAt = service.current().takenAt();
+
+        provider.failingSlug("go");
+        service.refresh(true);
+
+        assertEquals(SLUGS, service.current().statsBySlug().keySet());
+        assertEquals(go, service.current().statsBySlug().get("go"));
+        assertEquals(goFetchedAt, service.current().fetchedAt("go"));
+        assertEquals(SLUGS, file.read().statsBySlug().keySet());
+        assertEquals(1, service.metrics().get("lastFailedSlugs"));
+    }
+
+    @Test
+    void start_usesAFreshFileWithoutCallingTheProvider() throws IOException {
+        StatsSnapshot onDisk = snapshot(Instant.now());
+        file.write(onDisk);
+        StatsSnapshotService service = service();
+
+        service.start();
+
+        assertEquals(onDisk, service.current());
+        assertEquals(0, provider.requestCount());
+        assertEquals(1L, service.metrics().get("loadedFromFile"));
+    }
+
+    @Test
+    void refresh_adoptsANewerFileWrittenByAnotherProcess() throws IOException {
+        StatsSnapshotService service = service();
+        service.refresh(true);
+        int requests = provider.requestCount();
+        StatsSnapshot newer = snapshot(Instant.now().plusSeconds(1));
+        file.write(newer);
+
+        service.refresh(false);
+
+        assertEquals(newer, service.current());
+        assertEquals(requests, provider.requestCount());
+    }
+
+    private static StatsSnapshot snapshot(Instant takenAt) {
+        SkillStats java = new SkillStats("java", 42, 50000, null, null, null);
+        return new StatsSnapshot(Map.of("java", java), SLUGS.size(), takenAt.truncatedTo(ChronoUnit.MILLIS), Duration.ZERO);
+    }
+}